@@ -0,0 +1,110 @@
+package Benchmarks;
+
+/*
+ * Program     : BinBenchmark
+ * Description : Benchmark reading bits and bytes with Bin
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : java -jar target/benchmarks.jar BinBenchmark
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import IO.Bin;
+
+/**
+ * Benchmark reading a buffer in memory with each of Bin's read operations, so
+ * the rate reflects the reader and not the disk
+ *
+ * @author Matthias Schrock
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinBenchmark {
+    @Param({ "1048576" })
+    private int size;
+    private byte[] data;
+    private byte[] buf;
+
+    @Setup
+    public void setUp() {
+        data = Inputs.binary(size);
+        buf = new byte[1 << 16];
+    }
+
+    @Benchmark
+    public void readBit(Processed processed, Blackhole bh) throws IOException {
+        try (Bin bin = open()) {
+            while (!bin.isEmpty()) {
+                bh.consume(bin.readBit());
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void readInt12(Processed processed, Blackhole bh) throws IOException {
+        try (Bin bin = open()) {
+            for (long bits = 8L * size; bits >= 12; bits -= 12) {
+                bh.consume(bin.readInt(12));
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void readChar(Processed processed, Blackhole bh) throws IOException {
+        try (Bin bin = open()) {
+            while (!bin.isEmpty()) {
+                bh.consume(bin.readChar());
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void readArray(Processed processed, Blackhole bh) throws IOException {
+        try (Bin bin = open()) {
+            while (bin.read(buf, 0, buf.length) != -1) {
+                bh.consume(buf);
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void readArrayUnaligned(Processed processed, Blackhole bh) throws IOException {
+        try (Bin bin = open()) {
+            bin.readBit();
+            while (bin.read(buf, 0, buf.length) != -1) {
+                bh.consume(buf);
+            }
+        }
+        processed.bytes += size;
+    }
+
+    private Bin open() throws IOException {
+        return new Bin(new ByteArrayInputStream(data));
+    }
+}
\ No newline at end of file
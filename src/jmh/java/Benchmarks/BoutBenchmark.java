@@ -0,0 +1,113 @@
+package Benchmarks;
+
+/*
+ * Program     : BoutBenchmark
+ * Description : Benchmark writing bits and bytes with Bout
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : java -jar target/benchmarks.jar BoutBenchmark
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import IO.Bout;
+
+/**
+ * Benchmark writing a buffer's worth of output with each of Bout's write
+ * operations into memory, so the rate reflects the writer and not the disk
+ *
+ * @author Matthias Schrock
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoutBenchmark {
+    @Param({ "1048576" })
+    private int size;
+    private byte[] data;
+    private ByteArrayOutputStream baos;
+
+    @Setup
+    public void setUp() {
+        data = Inputs.binary(size);
+        baos = new ByteArrayOutputStream(size + 16);
+    }
+
+    @Benchmark
+    public void writeBit(Processed processed) throws IOException {
+        try (Bout bout = open()) {
+            for (byte b : data) {
+                for (int i = Byte.SIZE - 1; i >= 0; i--) {
+                    bout.writeBit(((b >>> i) & 1) == 1);
+                }
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void writeBits12(Processed processed) throws IOException {
+        try (Bout bout = open()) {
+            // Two codewords per three bytes of output
+            for (int i = 0; i < size / 3 * 2; i++) {
+                bout.writeBits(((i & 0xf) << 8) | (data[i] & 0xff), 12);
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void writeByte(Processed processed) throws IOException {
+        try (Bout bout = open()) {
+            for (byte b : data) {
+                bout.writeByte(b & 0xff);
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void writeArray(Processed processed) throws IOException {
+        try (Bout bout = open()) {
+            for (int off = 0; off < size; off += 1 << 16) {
+                bout.write(data, off, Math.min(1 << 16, size - off));
+            }
+        }
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void writeArrayUnaligned(Processed processed) throws IOException {
+        try (Bout bout = open()) {
+            bout.writeBit(true);
+            for (int off = 0; off < size; off += 1 << 16) {
+                bout.write(data, off, Math.min(1 << 16, size - off));
+            }
+        }
+        processed.bytes += size;
+    }
+
+    private Bout open() {
+        baos.reset();
+        return new Bout(baos);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package Benchmarks;
+
+/*
+ * Program     : CodecBenchmark
+ * Description : Benchmark compressing and decompressing files end to end
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : java -jar target/benchmarks.jar CodecBenchmark
+ */
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark compressing and decompressing files end to end with SchubsL,
+ * SchubsH, SchubsArc and the matching Deschubs paths. Every invocation reads
+ * and writes real files in a temporary directory, and the processed counter
+ * gives the rate in uncompressed bytes per second. Decompressing writes the
+ * input file again with the same contents
+ *
+ * @author Matthias Schrock
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+    private static final StandardOpenOption[] NO_OPTIONS = {};
+
+    @Param({ "65536", "1048576", "16777216" })
+    private int size;
+    @Param({ "text", "binary" })
+    private String kind;
+    @Param({ "1", "4" })
+    private int threads;
+
+    private Path dir;
+    private String input;
+    private String[] inputs;
+    private String archive;
+    private MethodHandle schubsL;
+    private MethodHandle schubsH;
+    private MethodHandle schubsArc;
+    private MethodHandle deLZW;
+    private MethodHandle deHuffman;
+    private MethodHandle unarchive;
+
+    @Setup
+    public void setUp() throws Throwable {
+        dir = Files.createTempDirectory("CodecBenchmark");
+        Path file = dir.resolve("input.txt");
+        Files.write(file, Inputs.of(kind, size));
+        input = file.toString();
+        inputs = new String[] { input };
+        archive = dir.resolve("input.zl").toString();
+
+        schubsL = Codecs.method(Codecs.create("SchubsL", threads), "compress", String.class,
+                StandardOpenOption[].class);
+        schubsH = Codecs.method(Codecs.create("SchubsH", threads), "compress", String.class,
+                StandardOpenOption[].class);
+        schubsArc = Codecs.method(Codecs.create("SchubsArc", 1), "compress", String.class, String[].class,
+                StandardOpenOption[].class);
+        Object deschubs = Codecs.create("Deschubs", threads);
+        deLZW = Codecs.method(deschubs, "deLZW", String.class, StandardOpenOption[].class);
+        deHuffman = Codecs.method(deschubs, "deHuffman", String.class, StandardOpenOption[].class);
+        unarchive = Codecs.method(deschubs, "unarchive", String.class, StandardOpenOption[].class);
+
+        // Compressed files for the decompression benchmarks
+        schubsL.invoke(input, NO_OPTIONS);
+        schubsH.invoke(input, NO_OPTIONS);
+        schubsArc.invoke(archive, inputs, NO_OPTIONS);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void schubsL(Processed processed) throws Throwable {
+        schubsL.invoke(input, NO_OPTIONS);
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void schubsH(Processed processed) throws Throwable {
+        schubsH.invoke(input, NO_OPTIONS);
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void schubsArc(Processed processed) throws Throwable {
+        schubsArc.invoke(archive, inputs, NO_OPTIONS);
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void deLZW(Processed processed) throws Throwable {
+        deLZW.invoke(input + ".ll", NO_OPTIONS);
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void deHuffman(Processed processed) throws Throwable {
+        deHuffman.invoke(input + ".hh", NO_OPTIONS);
+        processed.bytes += size;
+    }
+
+    @Benchmark
+    public void unarchive(Processed processed) throws Throwable {
+        unarchive.invoke(archive, NO_OPTIONS);
+        processed.bytes += size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package Benchmarks;
+
+/*
+ * Program     : Codecs
+ * Description : Method handles on the compressors and Deschubs
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : N/A
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Method handles on the compressors and Deschubs. Those classes are in the
+ * unnamed package, which classes in a named package cannot import, so they are
+ * looked up by name once per trial and then called through handles
+ *
+ * @author Matthias Schrock
+ */
+public final class Codecs {
+    private Codecs() {
+    }
+
+    /**
+     * Create a codec with the given number of threads
+     *
+     * @param className the codec class
+     * @param threads   number of threads, or 1 to leave the default
+     * @return the codec
+     * @throws ReflectiveOperationException if the class or its setThreads method
+     *                                      is missing
+     */
+    public static Object create(String className, int threads) throws ReflectiveOperationException {
+        Object codec = Class.forName(className).getConstructor().newInstance();
+        if (threads > 1) {
+            codec.getClass().getMethod("setThreads", int.class).invoke(codec, threads);
+        }
+        return codec;
+    }
+
+    /**
+     * Call an int setter of a codec, such as setMaxWidth
+     *
+     * @param codec the codec
+     * @param name  the setter name
+     * @param value the value
+     * @throws ReflectiveOperationException if there is no such setter or it
+     *                                      rejects the value
+     */
+    public static void set(Object codec, String name, int value) throws ReflectiveOperationException {
+        codec.getClass().getMethod(name, int.class).invoke(codec, value);
+    }
+
+    /**
+     * Look up a public void method of a codec, bound to the codec
+     *
+     * @param codec  the codec
+     * @param name   the method name
+     * @param params the method's parameter types
+     * @return the bound method handle
+     * @throws ReflectiveOperationException if there is no such method
+     */
+    public static MethodHandle method(Object codec, String name, Class<?>... params)
+            throws ReflectiveOperationException {
+        return MethodHandles.publicLookup()
+                .findVirtual(codec.getClass(), name, MethodType.methodType(void.class, params))
+                .bindTo(codec);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package Benchmarks;
+
+/*
+ * Program     : Corpus
+ * Description : Deterministic corpora for the corpus report
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : N/A
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic corpora for the corpus report. Every corpus is generated from
+ * a fixed seed, so the same size gives the same bytes on every machine and run
+ *
+ * @author Matthias Schrock
+ */
+public final class Corpus {
+    private static final long SEED = 375;
+    private static final String[] LEVELS = { "INFO", "INFO", "INFO", "DEBUG", "WARN", "ERROR" };
+    private static final String[] PATHS = { "/api/v1/items", "/api/v1/users", "/api/v1/orders", "/health",
+            "/api/v2/search" };
+    private static final String[] NAMES = { "widget", "gadget", "sprocket", "gizmo", "doohickey", "thingamajig" };
+    private static final String[] TAGS = { "new", "sale", "blue", "red", "large", "small", "refurbished" };
+    private static final int SMALL_FILES = 2000;
+    private static final int SMALL_FILE_MAX = 4096;
+
+    private Corpus() {
+    }
+
+    /**
+     * @param size number of bytes
+     * @return application log lines with timestamps, levels and request fields
+     */
+    public static byte[] textLog(int size) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(size + 256);
+        long millis = 1_791_000_000_000L;
+        while (sb.length() < size) {
+            millis += random.nextInt(50);
+            sb.append(Instant.ofEpochMilli(millis))
+                    .append(' ').append(LEVELS[random.nextInt(LEVELS.length)])
+                    .append(" [worker-").append(random.nextInt(16)).append("] request ")
+                    .append(Long.toHexString(random.nextLong()))
+                    .append(" path=").append(PATHS[random.nextInt(PATHS.length)]).append('/')
+                    .append(random.nextInt(10000))
+                    .append(" status=").append(random.nextInt(10) == 0 ? 500 : 200)
+                    .append(" took=").append(random.nextInt(2000)).append("ms\n");
+        }
+        return Arrays.copyOf(sb.toString().getBytes(), size);
+    }
+
+    /**
+     * @param size number of bytes
+     * @return a JSON array of records, one per line
+     */
+    public static byte[] json(int size) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(size + 256).append("[\n");
+        for (int id = 0; sb.length() < size; id++) {
+            sb.append("  {\"id\": ").append(id)
+                    .append(", \"name\": \"").append(NAMES[random.nextInt(NAMES.length)]).append('-')
+                    .append(random.nextInt(1000)).append('"')
+                    .append(", \"price\": ").append(random.nextInt(100000) / 100.0)
+                    .append(", \"active\": ").append(random.nextBoolean())
+                    .append(", \"tags\": [\"").append(TAGS[random.nextInt(TAGS.length)]).append("\", \"")
+                    .append(TAGS[random.nextInt(TAGS.length)]).append("\"]},\n");
+        }
+        return Arrays.copyOf(sb.toString().getBytes(), size);
+    }
+
+    /**
+     * @param size number of bytes
+     * @return uniformly random bytes
+     */
+    public static byte[] random(int size) {
+        byte[] random = new byte[size];
+        new Random(SEED).nextBytes(random);
+        return random;
+    }
+
+    /**
+     * @param size number of bytes
+     * @return sensor-like samples: small values around a slowly drifting level,
+     *         with runs of zeros
+     */
+    public static byte[] lowEntropy(int size) {
+        Random random = new Random(SEED);
+        byte[] samples = new byte[size];
+        double level = 64;
+        for (int i = 0; i < size;) {
+            if (random.nextInt(20) == 0) {
+                i += Math.min(size - i, random.nextInt(256));
+                continue;
+            }
+            level = Math.max(8, Math.min(120, level + random.nextGaussian()));
+            samples[i++] = (byte) (level + random.nextGaussian() * 2);
+        }
+        return samples;
+    }
+
+    /**
+     * Write many small files of log lines and JSON records
+     *
+     * @param dir directory to write the files to
+     * @return the files
+     * @throws IOException if an I/O error occurs
+     */
+    public static List<Path> smallFiles(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Random random = new Random(SEED);
+        byte[] log = textLog(SMALL_FILES * SMALL_FILE_MAX / 2);
+        byte[] json = json(SMALL_FILES * SMALL_FILE_MAX / 2);
+        List<Path> files = new ArrayList<>(SMALL_FILES);
+        for (int i = 0; i < SMALL_FILES; i++) {
+            byte[] source = i % 2 == 0 ? log : json;
+            int length = 64 + random.nextInt(SMALL_FILE_MAX - 64);
+            int offset = random.nextInt(source.length - length);
+            Path path = dir.resolve(String.format("file%04d.%s", i, i % 2 == 0 ? "log" : "json"));
+            Files.write(path, Arrays.copyOfRange(source, offset, offset + length));
+            files.add(path);
+        }
+        return files;
+    }
+}
\ No newline at end of file
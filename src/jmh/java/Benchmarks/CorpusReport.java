@@ -0,0 +1,417 @@
+package Benchmarks;
+
+/*
+ * Program     : CorpusReport
+ * Description : Compare the codecs with java.util.zip on generated corpora
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : java -cp target/benchmarks.jar Benchmarks.CorpusReport [--size <bytes>] [--repeat <n>]
+ *                   [--threads <n>] [--json] [--out <file>]
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compare the codecs with java.util.zip on generated corpora. Each single file
+ * corpus (text log, JSON, random and low entropy binary) is compressed with
+ * SchubsL, SchubsL with variable width codewords, SchubsH and Deflater, and a
+ * corpus of many small files with SchubsArc and a zip file. For every pair the
+ * report gives the compression ratio, the best compression and decompression
+ * rate over the repetitions, and the most heap either step used above what was
+ * in use when it started. Every decompression is checked against the original
+ * files, so a codec that loses data fails the run instead of reporting a rate.
+ * The report is CSV, or JSON with --json
+ *
+ * @author Matthias Schrock
+ */
+public final class CorpusReport {
+    private static final StandardOpenOption[] NO_OPTIONS = {};
+    private static final int DEFAULT_SIZE = 8 << 20;
+    private static final int DEFAULT_REPEAT = 3;
+    private static final int DEFLATE_LEVEL = Deflater.DEFAULT_COMPRESSION;
+    private static final int MAX_WIDTH = 16;
+    private static final double MB = 1e6;
+    private static final String[] COLUMNS = { "corpus", "codec", "files", "input_bytes", "compressed_bytes",
+            "ratio", "compress_mb_s", "decompress_mb_s", "compress_peak_heap_bytes",
+            "decompress_peak_heap_bytes" };
+
+    /**
+     * Compress a corpus and restore it
+     */
+    private interface Codec {
+        /**
+         * @param files the corpus
+         * @return the compressed file
+         * @throws Throwable if compression fails
+         */
+        Path compress(List<Path> files) throws Throwable;
+
+        /**
+         * Restore the corpus, which has been deleted
+         *
+         * @param compressed the compressed file
+         * @throws Throwable if decompression fails
+         */
+        void decompress(Path compressed) throws Throwable;
+    }
+
+    /**
+     * Measurements of one codec on one corpus
+     */
+    private record Result(String corpus, String codec, int files, long input, long compressed,
+            long compressNanos, long decompressNanos, long compressHeap, long decompressHeap) {
+        Object[] values() {
+            return new Object[] { corpus, codec, files, input, compressed,
+                    round((double) input / compressed), round(rate(compressNanos)), round(rate(decompressNanos)),
+                    compressHeap, decompressHeap };
+        }
+
+        private double rate(long nanos) {
+            return input / MB / (nanos / 1e9);
+        }
+
+        private static double round(double x) {
+            return Math.round(x * 1000) / 1000.0;
+        }
+    }
+
+    private final int size;
+    private final int repeat;
+    private final int threads;
+    private final Path dir;
+
+    private CorpusReport(int size, int repeat, int threads, Path dir) {
+        this.size = size;
+        this.repeat = repeat;
+        this.threads = threads;
+        this.dir = dir;
+    }
+
+    private List<Result> run() throws Throwable {
+        Map<String, byte[]> singles = new LinkedHashMap<>();
+        singles.put("text-log", Corpus.textLog(size));
+        singles.put("json", Corpus.json(size));
+        singles.put("random", Corpus.random(size));
+        singles.put("low-entropy", Corpus.lowEntropy(size));
+
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, byte[]> corpus : singles.entrySet()) {
+            Path file = dir.resolve(corpus.getKey() + ".dat");
+            Files.write(file, corpus.getValue());
+            for (Map.Entry<String, Codec> codec : fileCodecs().entrySet()) {
+                results.add(measure(corpus.getKey(), codec.getKey(), codec.getValue(), List.of(file)));
+            }
+        }
+
+        List<Path> small = Corpus.smallFiles(dir.resolve("small"));
+        for (Map.Entry<String, Codec> codec : archiveCodecs().entrySet()) {
+            results.add(measure("small-files", codec.getKey(), codec.getValue(), small));
+        }
+        return results;
+    }
+
+    private Map<String, Codec> fileCodecs() throws ReflectiveOperationException {
+        Object deschubs = Codecs.create("Deschubs", threads);
+        MethodHandle deLZW = Codecs.method(deschubs, "deLZW", String.class, StandardOpenOption[].class);
+        MethodHandle deHuffman = Codecs.method(deschubs, "deHuffman", String.class, StandardOpenOption[].class);
+        Object variable = Codecs.create("SchubsL", threads);
+        Codecs.set(variable, "setMaxWidth", MAX_WIDTH);
+
+        Map<String, Codec> codecs = new LinkedHashMap<>();
+        codecs.put("SchubsL", shrinkWrap(Codecs.create("SchubsL", threads), ".ll", deLZW));
+        codecs.put("SchubsL-w" + MAX_WIDTH, shrinkWrap(variable, ".ll", deLZW));
+        codecs.put("SchubsH", shrinkWrap(Codecs.create("SchubsH", threads), ".hh", deHuffman));
+        codecs.put("Deflater", new Codec() {
+            @Override
+            public Path compress(List<Path> files) throws IOException {
+                Path deflated = Path.of(files.get(0) + ".deflate");
+                Deflater deflater = new Deflater(DEFLATE_LEVEL);
+                try (OutputStream os = new DeflaterOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(deflated)), deflater)) {
+                    Files.copy(files.get(0), os);
+                } finally {
+                    deflater.end();
+                }
+                return deflated;
+            }
+
+            @Override
+            public void decompress(Path compressed) throws IOException {
+                String name = compressed.toString();
+                try (InputStream is = new InflaterInputStream(new BufferedInputStream(Files.newInputStream(compressed)))) {
+                    Files.copy(is, Path.of(name.substring(0, name.lastIndexOf('.'))));
+                }
+            }
+        });
+        return codecs;
+    }
+
+    private Codec shrinkWrap(Object compressor, String extension, MethodHandle decompress)
+            throws ReflectiveOperationException {
+        MethodHandle compress = Codecs.method(compressor, "compress", String.class, StandardOpenOption[].class);
+        return new Codec() {
+            @Override
+            public Path compress(List<Path> files) throws Throwable {
+                compress.invoke(files.get(0).toString(), NO_OPTIONS);
+                return Path.of(files.get(0) + extension);
+            }
+
+            @Override
+            public void decompress(Path compressed) throws Throwable {
+                decompress.invoke(compressed.toString(), NO_OPTIONS);
+            }
+        };
+    }
+
+    private Map<String, Codec> archiveCodecs() throws ReflectiveOperationException {
+        MethodHandle archive = Codecs.method(Codecs.create("SchubsArc", 1), "compress", String.class,
+                String[].class, StandardOpenOption[].class);
+        MethodHandle unarchive = Codecs.method(Codecs.create("Deschubs", threads), "unarchive", String.class,
+                StandardOpenOption[].class);
+
+        Map<String, Codec> codecs = new LinkedHashMap<>();
+        codecs.put("SchubsArc", new Codec() {
+            @Override
+            public Path compress(List<Path> files) throws Throwable {
+                Path zl = dir.resolve("small.zl");
+                archive.invoke(zl.toString(), files.stream().map(Path::toString).toArray(String[]::new),
+                        NO_OPTIONS);
+                return zl;
+            }
+
+            @Override
+            public void decompress(Path compressed) throws Throwable {
+                unarchive.invoke(compressed.toString(), NO_OPTIONS);
+            }
+        });
+        codecs.put("Zip", new Codec() {
+            @Override
+            public Path compress(List<Path> files) throws IOException {
+                Path zip = dir.resolve("small.zip");
+                try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zip)))) {
+                    zos.setLevel(DEFLATE_LEVEL);
+                    for (Path file : files) {
+                        zos.putNextEntry(new ZipEntry(file.toString()));
+                        Files.copy(file, zos);
+                        zos.closeEntry();
+                    }
+                }
+                return zip;
+            }
+
+            @Override
+            public void decompress(Path compressed) throws IOException {
+                try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(Files.newInputStream(compressed)))) {
+                    for (ZipEntry entry; (entry = zis.getNextEntry()) != null;) {
+                        Files.copy(zis, Path.of(entry.getName()));
+                    }
+                }
+            }
+        });
+        return codecs;
+    }
+
+    private Result measure(String corpus, String name, Codec codec, List<Path> files) throws Throwable {
+        Map<Path, byte[]> originals = new HashMap<>();
+        long input = 0;
+        for (Path file : files) {
+            originals.put(file, Files.readAllBytes(file));
+            input += originals.get(file).length;
+        }
+
+        long compressNanos = Long.MAX_VALUE;
+        long decompressNanos = Long.MAX_VALUE;
+        long compressHeap = 0;
+        long decompressHeap = 0;
+        long compressed = 0;
+        for (int i = 0; i < repeat; i++) {
+            Path output;
+            try (HeapSampler heap = new HeapSampler()) {
+                long start = System.nanoTime();
+                output = codec.compress(files);
+                compressNanos = Math.min(compressNanos, System.nanoTime() - start);
+                compressHeap = Math.max(compressHeap, heap.peak());
+            }
+            compressed = Files.size(output);
+
+            for (Path file : files) {
+                Files.delete(file);
+            }
+            try (HeapSampler heap = new HeapSampler()) {
+                long start = System.nanoTime();
+                codec.decompress(output);
+                decompressNanos = Math.min(decompressNanos, System.nanoTime() - start);
+                decompressHeap = Math.max(decompressHeap, heap.peak());
+            }
+
+            for (Path file : files) {
+                if (!Arrays.equals(originals.get(file), Files.readAllBytes(file))) {
+                    throw new IOException(name + " did not restore " + file);
+                }
+            }
+            Files.delete(output);
+        }
+        return new Result(corpus, name, files.size(), input, compressed, compressNanos, decompressNanos,
+                compressHeap, decompressHeap);
+    }
+
+    /**
+     * Track the peak heap use of a step above the heap in use when it started.
+     * The pools only update their peaks at collections, so the heap is also
+     * sampled every millisecond. Collectors account for the heap in whole
+     * regions, so small steps may show no growth at all; a small -Xmx or
+     * -XX:+UseSerialGC gives finer numbers
+     */
+    private static final class HeapSampler implements AutoCloseable {
+        private final long baseline;
+        private final Thread sampler;
+        private volatile boolean running = true;
+        private volatile long peak;
+
+        HeapSampler() {
+            System.gc();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+            baseline = used();
+            peak = baseline;
+            sampler = new Thread(() -> {
+                while (running) {
+                    peak = Math.max(peak, used());
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+
+        /**
+         * @return the most heap used above the baseline so far
+         */
+        long peak() throws InterruptedException {
+            running = false;
+            sampler.join();
+            long pools = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pools += pool.getPeakUsage().getUsed();
+                }
+            }
+            return Math.max(0, Math.max(peak, Math.max(pools, used())) - baseline);
+        }
+
+        private static long used() {
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+
+        @Override
+        public void close() {
+            running = false;
+        }
+    }
+
+    private static void writeCsv(List<Result> results, PrintStream out) {
+        out.println(String.join(",", COLUMNS));
+        for (Result result : results) {
+            out.println(String.join(",", Arrays.stream(result.values()).map(String::valueOf).toList()));
+        }
+    }
+
+    private static void writeJson(List<Result> results, PrintStream out) {
+        out.println("[");
+        for (int i = 0; i < results.size(); i++) {
+            Object[] values = results.get(i).values();
+            StringBuilder sb = new StringBuilder("  {");
+            for (int j = 0; j < COLUMNS.length; j++) {
+                sb.append(j == 0 ? "" : ", ").append('"').append(COLUMNS[j]).append("\": ");
+                sb.append(values[j] instanceof String ? "\"" + values[j] + "\"" : values[j]);
+            }
+            out.println(sb.append(i == results.size() - 1 ? "}" : "},"));
+        }
+        out.println("]");
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        Locale.setDefault(Locale.ROOT);
+        int size = DEFAULT_SIZE;
+        int repeat = DEFAULT_REPEAT;
+        int threads = 1;
+        boolean json = false;
+        String out = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--size" -> size = Integer.parseInt(args[++i]);
+                case "--repeat" -> repeat = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--json" -> json = true;
+                case "--out" -> out = args[++i];
+                default -> throw new IllegalArgumentException("Usage: java -cp target/benchmarks.jar "
+                        + "Benchmarks.CorpusReport [--size <bytes>] [--repeat <n>] [--threads <n>] [--json] "
+                        + "[--out <file>]");
+            }
+        }
+        if (size < 1 || repeat < 1 || threads < 1) {
+            throw new IllegalArgumentException("Size, repeat and threads must be at least 1");
+        }
+
+        Path dir = Files.createTempDirectory("CorpusReport");
+        List<Result> results;
+        try {
+            results = new CorpusReport(size, repeat, threads, dir).run();
+        } finally {
+            delete(dir);
+        }
+
+        try (PrintStream ps = out == null ? new PrintStream(System.out) : new PrintStream(out)) {
+            if (json) {
+                writeJson(results, ps);
+            } else {
+                writeCsv(results, ps);
+            }
+        }
+    }
+}
\ No newline at end of file
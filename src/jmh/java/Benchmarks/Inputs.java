@@ -0,0 +1,91 @@
+package Benchmarks;
+
+/*
+ * Program     : Inputs
+ * Description : Reproducible benchmark inputs
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : N/A
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reproducible benchmark inputs. Text is made of lines of words drawn from a
+ * fixed vocabulary, like a log file, and binary input is uniformly random bytes,
+ * which neither codec can compress
+ *
+ * @author Matthias Schrock
+ */
+public final class Inputs {
+    private static final long SEED = 375;
+    /**
+     * Number of words in the vocabulary
+     */
+    public static final int WORDS = 2000;
+
+    private Inputs() {
+    }
+
+    /**
+     * @param kind "text" or "binary"
+     * @param size number of bytes
+     * @return the input
+     * @throws IllegalArgumentException if kind is unknown
+     */
+    public static byte[] of(String kind, int size) {
+        return switch (kind) {
+            case "text" -> text(size);
+            case "binary" -> binary(size);
+            default -> throw new IllegalArgumentException("Unknown input kind: " + kind);
+        };
+    }
+
+    /**
+     * @param size number of bytes
+     * @return lines of words from a fixed vocabulary
+     */
+    public static byte[] text(int size) {
+        String[] words = words();
+        Random random = new Random(SEED);
+        ByteArrayOutputStream text = new ByteArrayOutputStream(size + 64);
+        while (text.size() < size) {
+            for (int i = 4 + random.nextInt(8); i > 0; i--) {
+                text.writeBytes(words[random.nextInt(words.length)].getBytes());
+                text.write(' ');
+            }
+            text.write('\n');
+        }
+        return Arrays.copyOf(text.toByteArray(), size);
+    }
+
+    /**
+     * @param size number of bytes
+     * @return random bytes
+     */
+    public static byte[] binary(int size) {
+        byte[] binary = new byte[size];
+        new Random(SEED).nextBytes(binary);
+        return binary;
+    }
+
+    /**
+     * @return the vocabulary of the text input
+     */
+    public static String[] words() {
+        Random random = new Random(SEED);
+        String[] words = new String[WORDS];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int j = 2 + random.nextInt(9); j > 0; j--) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
\ No newline at end of file
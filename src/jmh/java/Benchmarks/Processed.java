@@ -0,0 +1,41 @@
+package Benchmarks;
+
+/*
+ * Program     : Processed
+ * Description : Count of input bytes processed by a benchmark
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : N/A
+ */
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Count of input bytes processed by a benchmark. JMH reports the counter as a
+ * rate next to the operation rate, so throughput benchmarks show bytes per
+ * second regardless of the input size
+ *
+ * @author Matthias Schrock
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Processed {
+    /**
+     * Input bytes processed in the current iteration
+     */
+    public long bytes;
+
+    /**
+     * Start each iteration from zero
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        bytes = 0;
+    }
+}
\ No newline at end of file
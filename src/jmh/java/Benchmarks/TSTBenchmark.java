@@ -0,0 +1,87 @@
+package Benchmarks;
+
+/*
+ * Program     : TSTBenchmark
+ * Description : Benchmark the ternary search trie
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn -P jmh -DskipTests package
+ * Execute     : java -jar target/benchmarks.jar TSTBenchmark
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import DataStructures.TST;
+
+/**
+ * Benchmark the ternary search trie on the words of the text input. Each
+ * invocation covers the whole vocabulary, and the scores are per word
+ *
+ * @author Matthias Schrock
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TSTBenchmark {
+    private String[] words;
+    private String[] lines;
+    private TST<Integer> tst;
+
+    @Setup
+    public void setUp() {
+        words = Inputs.words();
+        tst = new TST<>();
+        for (int i = 0; i < words.length; i++) {
+            tst.put(words[i], i);
+        }
+
+        // Each word followed by the next, so the longest prefix is a full word
+        lines = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            lines[i] = words[i] + words[(i + 1) % words.length];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.WORDS)
+    public TST<Integer> put() {
+        TST<Integer> t = new TST<>();
+        for (int i = 0; i < words.length; i++) {
+            t.put(words[i], i);
+        }
+        return t;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.WORDS)
+    public void get(Blackhole bh) {
+        for (String word : words) {
+            bh.consume(tst.get(word));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.WORDS)
+    public void longestPrefix(Blackhole bh) {
+        for (String line : lines) {
+            bh.consume(tst.longestPrefix(line));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Program     : ArchiveEntry
+ * Description : Central directory entry of an indexed archive
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import IO.Bin;
+import IO.Bout;
+
+/**
+ * Central directory entry of an indexed archive. Each entry is stored as an
+ * independent stream, so the directory is all that is needed to find and
+ * decode one member
+ *
+ * @param name           the member's file name
+ * @param offset         offset of the member's data from the start of the
+ *                       archive
+ * @param compressedSize number of bytes of the member's data
+ * @param size           the member's original size
+ * @param codec          how the member's data is coded
+ * @author Matthias Schrock
+ * @see SchubsArc
+ */
+public record ArchiveEntry(String name, long offset, long compressedSize, long size, int codec) {
+    /**
+     * Codec of a member compressed as a plain LZW stream
+     */
+    public static final int LZW = 0;
+    /**
+     * Codec of a member stored as is, because compressing it did not make it
+     * smaller
+     */
+    public static final int STORED = 1;
+    private static final int NAME_LENGTH_BITS = 16;
+
+    /**
+     * Write the entry: the length of the UTF-8 encoded name, the name, the
+     * offset, the compressed and original sizes and the codec
+     *
+     * @param bout output stream
+     * @throws IOException if an I/O error occurs or the name is too long
+     */
+    public void write(Bout bout) throws IOException {
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= 1 << NAME_LENGTH_BITS) {
+            throw new IOException("File name too long: " + name);
+        }
+
+        bout.writeBits(utf8.length, NAME_LENGTH_BITS);
+        bout.write(utf8, 0, utf8.length);
+        bout.write(offset);
+        bout.write(compressedSize);
+        bout.write(size);
+        bout.writeBits(codec, Byte.SIZE);
+    }
+
+    /**
+     * Read an entry written by {@link #write(Bout)}
+     *
+     * @param bin input stream
+     * @return the entry
+     * @throws IOException if an I/O error occurs or the entry is malformed
+     */
+    public static ArchiveEntry read(Bin bin) throws IOException {
+        byte[] utf8 = new byte[bin.readInt(NAME_LENGTH_BITS)];
+        if (bin.read(utf8, 0, utf8.length) < utf8.length) {
+            throw new IOException("Unexpected end of archive");
+        }
+
+        ArchiveEntry entry = new ArchiveEntry(new String(utf8, StandardCharsets.UTF_8), bin.readLong(),
+                bin.readLong(), bin.readLong(), bin.readInt(Byte.SIZE));
+        if (entry.offset() < 0 || entry.compressedSize() < 0 || entry.size() < 0
+                || (entry.codec() != LZW && entry.codec() != STORED)
+                || (entry.codec() == STORED && entry.compressedSize() != entry.size())) {
+            throw new IOException("Invalid archive entry " + entry.name());
+        }
+        return entry;
+    }
+}
\ No newline at end of file
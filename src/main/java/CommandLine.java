@@ -0,0 +1,109 @@
+/*
+ * Program     : CommandLine
+ * Description : Parse the options and file names of a command line
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Parse the options and file names of a command line. Options start with two
+ * dashes and may appear anywhere among the file names. An option either takes
+ * the argument after it as its value or is a flag on its own. Every other
+ * argument is a file name, as is every argument after a lone "--", so files
+ * whose names start with dashes can still be given
+ *
+ * <pre>
+ * String[] files = new CommandLine()
+ *         .intOption("--threads", schubsL::setThreads)
+ *         .parse(args);
+ * </pre>
+ *
+ * @author Matthias Schrock
+ */
+public class CommandLine {
+    private static final String END_OF_OPTIONS = "--";
+    private final Map<String, Consumer<String>> options = new HashMap<>();
+    private final Map<String, Runnable> flags = new HashMap<>();
+
+    /**
+     * Accept an option taking a value
+     *
+     * @param name   the option, with its dashes
+     * @param action called with the value
+     * @return this command line
+     */
+    public CommandLine option(String name, Consumer<String> action) {
+        options.put(name, action);
+        return this;
+    }
+
+    /**
+     * Accept an option taking an integer value
+     *
+     * @param name   the option, with its dashes
+     * @param action called with the value
+     * @return this command line
+     */
+    public CommandLine intOption(String name, IntConsumer action) {
+        return option(name, value -> {
+            try {
+                action.accept(Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+            }
+        });
+    }
+
+    /**
+     * Accept an option taking no value
+     *
+     * @param name   the option, with its dashes
+     * @param action called when the option is given
+     * @return this command line
+     */
+    public CommandLine flag(String name, Runnable action) {
+        flags.put(name, action);
+        return this;
+    }
+
+    /**
+     * Apply the options of a command line, in order
+     *
+     * @param args command line arguments
+     * @return the file names, in order
+     * @throws IllegalArgumentException if an option is unknown, has no value or
+     *                                  its action rejects the value
+     */
+    public String[] parse(String[] args) {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals(END_OF_OPTIONS)) {
+                files.addAll(List.of(args).subList(i + 1, args.length));
+                break;
+            } else if (!arg.startsWith(END_OF_OPTIONS)) {
+                files.add(arg);
+            } else if (flags.containsKey(arg)) {
+                flags.get(arg).run();
+            } else if (options.containsKey(arg)) {
+                if (++i == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                options.get(arg).accept(args[i]);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        return files.toArray(String[]::new);
+    }
+}
\ No newline at end of file
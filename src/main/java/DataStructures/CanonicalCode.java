@@ -0,0 +1,355 @@
+package DataStructures;
+
+/*
+ * Program     : CanonicalCode
+ * Description : Canonical Huffman code described only by its code lengths
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac CanonicalCode.java
+ * Execute     : N/A
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import IO.Bin;
+import IO.Bout;
+import lombok.Getter;
+
+/**
+ * Canonical Huffman code. Symbols are ordered by code length and then by value,
+ * and each symbol's code is the previous code plus one, shifted left whenever
+ * the length grows. The whole code is therefore determined by the number of
+ * codes of each length and the symbols in canonical order, which is all that
+ * needs to be stored in a header
+ *
+ * <br>
+ * <br>
+ * A code with a single symbol has length 0: the symbol is implied and no bits
+ * are written for it
+ *
+ * @author Matthias Schrock
+ */
+public class CanonicalCode {
+    private static final int R = 256;
+    /**
+     * Longest code that can be written and read back. Codes are built in a long,
+     * and no real input needs more
+     */
+    @Getter
+    private static final int MAX_LENGTH = 32;
+    private final char[] symbols;
+    private final int[] count;
+    private final int[] lengths = new int[R];
+    private final long[] codes = new long[R];
+
+    /**
+     * Create a canonical code
+     *
+     * @param symbols symbols in canonical order
+     * @param count   number of codes of each length, indexed by length
+     */
+    private CanonicalCode(char[] symbols, int[] count) {
+        this.symbols = symbols;
+        this.count = count;
+
+        long code = 0;
+        int i = 0;
+        for (int len = 0; len < count.length; len++) {
+            for (int j = 0; j < count[len]; j++, i++) {
+                lengths[symbols[i]] = len;
+                codes[symbols[i]] = code++;
+            }
+            code <<= 1;
+        }
+    }
+
+    /**
+     * Create the canonical code with the same code lengths as a Huffman trie, or
+     * as close as the longest allowed code permits
+     *
+     * @param root root of the trie
+     * @return the canonical code
+     */
+    public static CanonicalCode of(TrieNode root) {
+        return of(root, MAX_LENGTH);
+    }
+
+    /**
+     * Create a canonical code from a Huffman trie with no code longer than a
+     * maximum length. If the trie is deeper, the number of codes of each length is
+     * adjusted as in JPEG (ITU T.81, Annex K.3): two codes at the deepest level are
+     * replaced by one code a level up and a shorter code is split in two, which
+     * keeps the code complete. The adjusted lengths are then handed out in order of
+     * the original code lengths, so frequent symbols keep the shortest codes
+     *
+     * @param root      root of the trie
+     * @param maxLength the maximum code length, from 8 to 32
+     * @return the canonical code
+     * @throws IllegalArgumentException if maxLength is out of range
+     */
+    public static CanonicalCode of(TrieNode root, int maxLength) {
+        if (maxLength < Byte.SIZE || maxLength > MAX_LENGTH) {
+            throw new IllegalArgumentException("Illegal maximum code length: " + maxLength);
+        }
+
+        int[] depth = new int[R];
+        List<Character> used = new ArrayList<>();
+        depths(root, 0, depth, used);
+
+        used.sort(Comparator.<Character>comparingInt(c -> depth[c]).thenComparing(c -> c));
+        int max = depth[used.get(used.size() - 1)];
+
+        int[] count = new int[max + 1];
+        for (char c : used) {
+            count[depth[c]]++;
+        }
+
+        if (max > maxLength) {
+            for (int i = max; i > maxLength; i--) {
+                while (count[i] > 0) {
+                    int j = i - 2;
+                    while (count[j] == 0) {
+                        j--;
+                    }
+                    count[i] -= 2;
+                    count[i - 1]++;
+                    count[j + 1] += 2;
+                    count[j]--;
+                }
+            }
+            count = Arrays.copyOf(count, maxLength + 1);
+
+            int i = 0;
+            for (int len = 1; len <= maxLength; len++) {
+                for (int j = 0; j < count[len]; j++) {
+                    depth[used.get(i++)] = len;
+                }
+            }
+            used.sort(Comparator.<Character>comparingInt(c -> depth[c]).thenComparing(c -> c));
+        }
+
+        char[] symbols = new char[used.size()];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = used.get(i);
+        }
+
+        return new CanonicalCode(symbols, count);
+    }
+
+    private static void depths(TrieNode n, int d, int[] depth, List<Character> used) {
+        if (n.isLeaf()) {
+            depth[n.ch()] = d;
+            used.add(n.ch());
+            return;
+        }
+
+        depths(n.left(), d + 1, depth, used);
+        depths(n.right(), d + 1, depth, used);
+    }
+
+    /**
+     * @return the length of the longest code
+     */
+    public int maxLength() {
+        return count.length - 1;
+    }
+
+    /**
+     * @param c a symbol of the code
+     * @return the length of the symbol's code
+     */
+    public int length(int c) {
+        return lengths[c];
+    }
+
+    /**
+     * @param c a symbol of the code
+     * @return the symbol's code, right-aligned
+     */
+    public long code(int c) {
+        return codes[c];
+    }
+
+    /**
+     * Count the bits needed to code symbols with the given frequencies
+     *
+     * @param freq frequency of each symbol
+     * @return the number of bits, or -1 if a symbol that occurs has no code
+     */
+    public long cost(int[] freq) {
+        long bits = 0;
+        for (int c = 0; c < R; c++) {
+            if (freq[c] == 0) {
+                continue;
+            }
+            if (maxLength() == 0 ? c != symbols[0] : lengths[c] == 0) {
+                return -1;
+            }
+            bits += (long) freq[c] * lengths[c];
+        }
+        return bits;
+    }
+
+    /**
+     * @return the number of bits {@link #write(Bout)} writes
+     */
+    public long tableBits() {
+        if (maxLength() == 0) {
+            return 2 * Byte.SIZE;
+        }
+
+        long bits = 2 * Byte.SIZE;
+        int w = lengthBits(maxLength());
+        for (int c = 0, prev = -1; c < R; c++) {
+            if (lengths[c] > 0) {
+                bits += 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(c - prev)) - 1 + w;
+                prev = c;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Write the code to the output stream: the maximum code length and the number
+     * of symbols, then each symbol in increasing order as an Elias gamma coded gap
+     * from the previous symbol followed by its code length. Runs of neighbouring
+     * symbols, as in text, cost one bit per symbol plus its length
+     *
+     * @param bout output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(Bout bout) throws IOException {
+        bout.writeBits(maxLength(), Byte.SIZE);
+        if (maxLength() == 0) {
+            bout.writeBits(symbols[0], Byte.SIZE);
+            return;
+        }
+
+        bout.writeBits(symbols.length - 1, Byte.SIZE);
+        int w = lengthBits(maxLength());
+        for (int c = 0, prev = -1; c < R; c++) {
+            if (lengths[c] > 0) {
+                writeGamma(c - prev, bout);
+                bout.writeBits(lengths[c] - 1, w);
+                prev = c;
+            }
+        }
+    }
+
+    /**
+     * Read a code written by {@link #write(Bout)}
+     *
+     * @param bin input stream
+     * @return the code
+     * @throws IOException if an I/O error occurs, the code is not a complete
+     *                     prefix code or it has codes longer than 32 bits
+     */
+    public static CanonicalCode read(Bin bin) throws IOException {
+        int max = bin.readInt(Byte.SIZE);
+        if (max > MAX_LENGTH) {
+            throw new IOException("Invalid Huffman code table");
+        }
+        if (max == 0) {
+            return new CanonicalCode(new char[] { bin.readChar() }, new int[] { 1 });
+        }
+
+        int n = bin.readInt(Byte.SIZE) + 1;
+        int w = lengthBits(max);
+        int[] length = new int[n];
+        char[] symbols = new char[n];
+        int[] count = new int[max + 1];
+        for (int i = 0, c = -1; i < n; i++) {
+            c += readGamma(bin);
+            length[i] = bin.readInt(w) + 1;
+            if (c >= R || length[i] > max) {
+                throw new IOException("Invalid Huffman code table");
+            }
+            symbols[i] = (char) c;
+            count[length[i]]++;
+        }
+
+        // Every code of the current length that is not a symbol must be the prefix
+        // of at least one longer code
+        long open = 1;
+        for (int len = 1; len <= max; len++) {
+            open = 2 * open - count[len];
+            if (open < 0 || open > R) {
+                throw new IOException("Invalid Huffman code table");
+            }
+        }
+        if (open != 0) {
+            throw new IOException("Invalid Huffman code table");
+        }
+
+        // Stable sort by length keeps symbols of equal length in increasing order
+        char[] canonical = new char[n];
+        int[] next = new int[max + 2];
+        for (int len = 1; len <= max; len++) {
+            next[len + 1] = next[len] + count[len];
+        }
+        for (int i = 0; i < n; i++) {
+            canonical[next[length[i]]++] = symbols[i];
+        }
+
+        return new CanonicalCode(canonical, count);
+    }
+
+    private static int lengthBits(int max) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(max - 1));
+    }
+
+    private static void writeGamma(int x, Bout bout) throws IOException {
+        int b = Integer.SIZE - Integer.numberOfLeadingZeros(x);
+        if (b > 1) {
+            bout.writeBits(0, b - 1);
+        }
+        bout.writeBits(x, b);
+    }
+
+    private static int readGamma(Bin bin) throws IOException {
+        int z = 0;
+        while (!bin.readBit()) {
+            // Gaps are at most R, which takes 8 leading zeros
+            if (++z > Byte.SIZE) {
+                throw new IOException("Invalid Huffman code table");
+            }
+        }
+        return z == 0 ? 1 : (1 << z) | bin.readInt(z);
+    }
+
+    /**
+     * Build the trie of the code
+     *
+     * @return root of the trie
+     */
+    public TrieNode trie() {
+        return trie(0, symbols.length, 0);
+    }
+
+    /**
+     * Build the subtrie for a run of symbols whose codes share their first d bits.
+     * Canonical codes are sorted, so the run splits into the codes continuing with
+     * 0 followed by the codes continuing with 1
+     *
+     * @param lo first symbol of the run
+     * @param hi one past the last symbol of the run
+     * @param d  depth of the subtrie
+     * @return root of the subtrie
+     */
+    private TrieNode trie(int lo, int hi, int d) {
+        if (hi - lo == 1 && lengths[symbols[lo]] == d) {
+            return new TrieNode(symbols[lo], -1, null, null);
+        }
+
+        int mid = lo;
+        while (mid < hi && ((codes[symbols[mid]] >>> (lengths[symbols[mid]] - d - 1)) & 1) == 0) {
+            mid++;
+        }
+        return new TrieNode('\0', -1, trie(lo, mid, d + 1), trie(mid, hi, d + 1));
+    }
+}
@@ -0,0 +1,108 @@
+package DataStructures;
+
+/*
+ * Program     : Histogram
+ * Description : Count the occurrences of each byte value in an array
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac Histogram.java
+ * Execute     : N/A
+ */
+
+import java.util.Objects;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Count the occurrences of each byte value in an array. Consecutive bytes are
+ * counted into four separate tables that are summed at the end, so a run of
+ * equal bytes does not make each increment wait for the previous one to the
+ * same counter. Ranges longer than 1 MiB are split in halves counted by
+ * ForkJoin tasks, in the pool of the calling task or the common pool, and the
+ * tables of the halves are added together
+ *
+ * @author Matthias Schrock
+ */
+public final class Histogram {
+    /**
+     * Number of byte values
+     */
+    private static final int R = 256;
+    /**
+     * Longest range counted by a single task
+     */
+    private static final int SPLIT = 1 << 20;
+
+    private Histogram() {
+    }
+
+    /**
+     * Count the byte values in a range of an array
+     *
+     * @param data the array
+     * @param from first index of the range
+     * @param to   index after the last one of the range
+     * @return the number of occurrences of each unsigned byte value
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static int[] of(byte[] data, int from, int to) {
+        Objects.checkFromToIndex(from, to, data.length);
+        return to - from <= SPLIT ? count(data, from, to) : new Count(data, from, to).invoke();
+    }
+
+    private static int[] count(byte[] data, int from, int to) {
+        int[] freq = new int[R];
+        int[] freq1 = new int[R];
+        int[] freq2 = new int[R];
+        int[] freq3 = new int[R];
+        int i = from;
+        for (; i <= to - 4; i += 4) {
+            freq[data[i] & 0xff]++;
+            freq1[data[i + 1] & 0xff]++;
+            freq2[data[i + 2] & 0xff]++;
+            freq3[data[i + 3] & 0xff]++;
+        }
+        for (; i < to; i++) {
+            freq[data[i] & 0xff]++;
+        }
+
+        for (int c = 0; c < R; c++) {
+            freq[c] += freq1[c] + freq2[c] + freq3[c];
+        }
+        return freq;
+    }
+
+    /**
+     * Count a range, splitting it in halves until they are short enough
+     */
+    private static class Count extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+        private final int from;
+        private final int to;
+
+        Count(byte[] data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= SPLIT) {
+                return count(data, from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            Count left = new Count(data, from, mid);
+            left.fork();
+            int[] freq = new Count(data, mid, to).compute();
+            int[] other = left.join();
+            for (int c = 0; c < R; c++) {
+                freq[c] += other[c];
+            }
+            return freq;
+        }
+    }
+}
\ No newline at end of file
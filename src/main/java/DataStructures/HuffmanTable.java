@@ -0,0 +1,135 @@
+package DataStructures;
+
+/*
+ * Program     : HuffmanTable
+ * Description : Lookup tables for decoding Huffman codes several bits at a time
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac HuffmanTable.java
+ * Execute     : N/A
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import IO.Bin;
+
+/**
+ * Lookup tables for decoding Huffman codes several bits at a time. The root
+ * table is indexed by the next TABLE_BITS bits of input and gives the decoded
+ * symbol together with the length of its code. Codes longer than the table
+ * width index a link to a secondary table for the rest of the code, so long
+ * codes cost one extra lookup per TABLE_BITS bits instead of one per bit
+ *
+ * @author Matthias Schrock
+ * @see DataStructures.TrieNode
+ */
+public class HuffmanTable {
+    private static final int TABLE_BITS = 10;
+    private static final int LINK = Integer.MIN_VALUE;
+    private final TrieNode root;
+    private final int bits;
+    private int[] table;
+    private int size;
+
+    /**
+     * Build the lookup tables for a Huffman trie
+     *
+     * @param root root of the trie
+     */
+    public HuffmanTable(TrieNode root) {
+        this.root = root;
+        table = new int[1 << TABLE_BITS];
+        size = 0;
+
+        if (root.isLeaf()) {
+            bits = 0;
+        } else {
+            bits = width(root);
+            build(root, bits);
+        }
+    }
+
+    /**
+     * Decode the next symbol from the input stream
+     *
+     * @param bin input stream
+     * @return the decoded symbol
+     * @throws IOException if an I/O error occurs or the input ends mid-code
+     */
+    public char decode(Bin bin) throws IOException {
+        // A trie with a single leaf has an empty code
+        if (bits == 0) {
+            return root.ch();
+        }
+
+        int w = bits;
+        int e = table[bin.peekBits(w)];
+        while (e < 0) {
+            bin.skipBits(w);
+            w = (e >>> 24) & 0x7f;
+            e = table[(e & 0xffffff) + bin.peekBits(w)];
+        }
+
+        bin.skipBits(e & 0xff);
+        return (char) (e >>> 8);
+    }
+
+    /**
+     * Build the table for the subtrie rooted at an internal node
+     *
+     * @param node the internal node
+     * @param w    number of bits the table is indexed by
+     * @return offset of the table
+     */
+    private int build(TrieNode node, int w) {
+        int off = size;
+        size += 1 << w;
+        if (size > table.length) {
+            table = Arrays.copyOf(table, Math.max(size, table.length * 2));
+        }
+
+        fill(node.left(), 0, 1, w, off);
+        fill(node.right(), 1, 1, w, off);
+        return off;
+    }
+
+    /**
+     * Fill the entries of a table for the subtrie reached by a partial code
+     *
+     * @param node the node reached
+     * @param code the bits read so far in this table
+     * @param d    the number of bits read so far in this table
+     * @param w    number of bits the table is indexed by
+     * @param off  offset of the table
+     */
+    private void fill(TrieNode node, int code, int d, int w, int off) {
+        if (node.isLeaf()) {
+            int from = off + (code << (w - d));
+            Arrays.fill(table, from, from + (1 << (w - d)), (node.ch() << 8) | d);
+        } else if (d == w) {
+            int subW = width(node);
+            int sub = build(node, subW);
+            table[off + code] = LINK | (subW << 24) | sub;
+        } else {
+            fill(node.left(), code << 1, d + 1, w, off);
+            fill(node.right(), (code << 1) | 1, d + 1, w, off);
+        }
+    }
+
+    /**
+     * @param node an internal node
+     * @return the table width for the subtrie rooted at the node
+     */
+    private int width(TrieNode node) {
+        return Math.min(height(node), TABLE_BITS);
+    }
+
+    private int height(TrieNode node) {
+        if (node.isLeaf()) {
+            return 0;
+        }
+        return 1 + Math.max(height(node.left()), height(node.right()));
+    }
+}
@@ -0,0 +1,122 @@
+package DataStructures;
+
+/*
+ * Program     : LZWDictionary
+ * Description : Primitive open-addressing hash table for LZW codewords
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac LZWDictionary.java
+ * Execute     : N/A
+ */
+
+import java.util.Arrays;
+
+/**
+ * LZW dictionary keyed by (prefix code, next byte) pairs. Every string in an
+ * LZW dictionary is an existing entry extended by one byte, so an entry is
+ * fully described by the code of its prefix and its last byte. Keys and codes
+ * are kept in two flat int arrays with linear probing, which makes lookups and
+ * inserts allocation-free
+ *
+ * @author Matthias Schrock
+ */
+public final class LZWDictionary {
+    private static final int EMPTY = -1;
+    private final int[] keys;
+    private final int[] codes;
+    private final int capacity;
+    private final int shift;
+    private final int mask;
+    private int n;
+
+    /**
+     * Create an empty dictionary
+     *
+     * @param capacity the maximum number of entries
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public LZWDictionary(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+
+        // Keep the load factor at or below 1/2 so probe sequences stay short
+        int size = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.capacity = capacity;
+        keys = new int[size];
+        codes = new int[size];
+        shift = Integer.SIZE - Integer.numberOfTrailingZeros(size);
+        mask = size - 1;
+        clear();
+    }
+
+    /**
+     * @return the number of entries in the dictionary
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Get the code of a prefix extended by one byte
+     *
+     * @param prefix the code of the prefix
+     * @param b      the next byte (0-255)
+     * @return the code of the extended string, or -1 if it is not in the
+     *         dictionary
+     */
+    public int get(int prefix, int b) {
+        int key = key(prefix, b);
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return codes[i];
+            }
+            if (k == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Associate a code with a prefix extended by one byte
+     *
+     * @param prefix the code of the prefix (below 2^23)
+     * @param b      the next byte (0-255)
+     * @param code   the code of the extended string
+     * @throws IllegalStateException if the dictionary is full
+     */
+    public void put(int prefix, int b, int code) {
+        int key = key(prefix, b);
+        int i = slot(key);
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+
+        if (keys[i] == EMPTY) {
+            if (n == capacity) {
+                throw new IllegalStateException("LZW dictionary is full");
+            }
+            keys[i] = key;
+            n++;
+        }
+        codes[i] = code;
+    }
+
+    /**
+     * Remove every entry from the dictionary
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        n = 0;
+    }
+
+    private int key(int prefix, int b) {
+        return (prefix << Byte.SIZE) | b;
+    }
+
+    private int slot(int key) {
+        return (key * 0x9E3779B1) >>> shift;
+    }
+}
@@ -6,19 +6,35 @@
  * Date        : 04-25-2024
  * Course      : CS375 Software Engineering II
  * Compile     : javac *.java
- * Execute     : java Deschubs <filename>.hh|ll|zl
+ * Execute     : java Deschubs [--threads <n>] <filename>.hh|ll|zl
+ *               java Deschubs --list <archive>.zl
+ *               java Deschubs --member <name> <archive>.zl
  */
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
+import DataStructures.CanonicalCode;
+import DataStructures.HuffmanTable;
 import DataStructures.TrieNode;
 import IO.Bin;
 import IO.Bout;
+import Monitoring.ArchiveEntryEvent;
+import Monitoring.CodecMetrics;
+import Monitoring.CodecPhaseEvent;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 /**
@@ -29,6 +45,38 @@ import lombok.NoArgsConstructor;
  */
 @NoArgsConstructor
 public class Deschubs {
+    /**
+     * Command line option listing the members of archives
+     */
+    private static final String LIST_OPTION = "--list";
+    /**
+     * Command line option extracting a single member of an archive
+     */
+    private static final String MEMBER_OPTION = "--member";
+    private static final String CODEC = "Deschubs";
+    /**
+     * Metrics of every decompression, of files and of streams
+     */
+    @Getter
+    private static final CodecMetrics METRICS = CodecMetrics.of(CODEC);
+
+    /**
+     * Number of threads decompressing blocks of a container
+     */
+    @Getter
+    private int threads = 1;
+
+    /**
+     * Decompress the blocks of containers with several threads
+     * 
+     * @param threads the number of threads, at least 1
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public void setThreads(int threads) {
+        ParallelCodec.checkThreads(threads);
+        this.threads = threads;
+    }
+
     /**
      * Decompress a Huffman encoded file
      * 
@@ -37,24 +85,115 @@ public class Deschubs {
      * @throws IOException if an I/O error occurs
      */
     public void deHuffman(String fnm, StandardOpenOption... stdOpen) throws IOException {
-        try (Bin bin = new Bin(fnm);
+        try (CodecMetrics.Operation op = METRICS.start();
+                Bin bin = new Bin(fnm);
                 Bout bout = new Bout(fnm.substring(0, fnm.lastIndexOf('.')), stdOpen)) {
+            int parallel = (SchubsH.getMAGIC() << Byte.SIZE) | SchubsH.getPARALLEL_VERSION();
+            if (bin.peekBits(SchubsH.getMAGIC_BITS() + Byte.SIZE) == parallel) {
+                bin.skipBits(SchubsH.getMAGIC_BITS() + Byte.SIZE);
+                new ParallelCodec(threads).decompress(bin, bout, this::decompressHuffman);
+            } else {
+                decompressHuffman(bin, bout);
+            }
+            bout.flush();
+            METRICS.addBytes(Files.size(Path.of(fnm)), bout.position());
+            op.succeeded();
+        }
+    }
+
+    /**
+     * Huffman decompression of a file in any format but the container of parts
+     * 
+     * @param bin  input stream
+     * @param bout output stream
+     * @throws IOException if an I/O error occurs or the format is not supported
+     */
+    private void decompressHuffman(Bin bin, Bout bout) throws IOException {
+        if (bin.peekBits(SchubsH.getMAGIC_BITS()) != SchubsH.getMAGIC()) {
             TrieNode root = readTrie(bin);
+            decodeBlock(new HuffmanTable(root), readLegacyLength(bin), bin, bout);
+            return;
+        }
 
-            int length = bin.readInt();
-            for (int i = 0; i < length; i++) {
-                TrieNode node = root;
-                while (!node.isLeaf()) {
-                    if (bin.readBit()) {
-                        node = node.right();
-                    } else {
-                        node = node.left();
-                    }
-                }
-                bout.write(node.ch());
+        bin.skipBits(SchubsH.getMAGIC_BITS());
+        int version = bin.readInt(Byte.SIZE);
+        if (version == SchubsH.getSINGLE_VERSION()) {
+            TrieNode root = CanonicalCode.read(bin).trie();
+            decodeBlock(new HuffmanTable(root), readLength(bin), bin, bout);
+        } else if (version == SchubsH.getBLOCK_VERSION()) {
+            decodeBlocks(bin, bout);
+        } else {
+            throw new IOException("Unsupported Huffman format version " + version);
+        }
+    }
+
+    /**
+     * Decode blocks until the empty block that ends the stream
+     * 
+     * @param bin  input stream
+     * @param bout output stream
+     * @throws IOException if an I/O error occurs or a block reuses a code before
+     *                     any code was read
+     */
+    private void decodeBlocks(Bin bin, Bout bout) throws IOException {
+        HuffmanTable table = null;
+        long length;
+        while ((length = readLength(bin)) > 0) {
+            if (!bin.readBit()) {
+                CodecPhaseEvent event = CodecPhaseEvent.start(CODEC, "build");
+                table = new HuffmanTable(CanonicalCode.read(bin).trie());
+                event.end(0, 0);
+            } else if (table == null) {
+                throw new IOException("Invalid Huffman block");
             }
-            bout.flush();
+            decodeBlock(table, length, bin, bout);
+        }
+    }
+
+    /**
+     * Decode a number of symbols with one table, as a decode phase event
+     * 
+     * @param table  decoding table
+     * @param length number of symbols
+     * @param bin    input stream
+     * @param bout   output stream
+     * @throws IOException if an I/O error occurs
+     */
+    private void decodeBlock(HuffmanTable table, long length, Bin bin, Bout bout) throws IOException {
+        CodecPhaseEvent event = CodecPhaseEvent.start(CODEC, "decode");
+        for (long i = 0; i < length; i++) {
+            bout.writeBits(table.decode(bin), Byte.SIZE);
         }
+        event.end(0, length);
+        METRICS.addCodes(length);
+    }
+
+    /**
+     * Read a length written as its bit width followed by that many bits
+     * 
+     * @param bin input stream
+     * @return the length
+     * @throws IOException if an I/O error occurs
+     */
+    static long readLength(Bin bin) throws IOException {
+        int b = bin.readInt(SchubsH.getLENGTH_WIDTH_BITS());
+        if (b > Integer.SIZE) {
+            long hi = bin.readInt(b - Integer.SIZE);
+            return (hi << Integer.SIZE) | (bin.readInt(Integer.SIZE) & 0xffffffffL);
+        }
+        return b == 0 ? 0 : bin.readInt(b) & 0xffffffffL;
+    }
+
+    /**
+     * Read the length of a file written before the magic bits, a 32-bit field
+     * read as unsigned so lengths of 2 GB and over are not taken as negative
+     * 
+     * @param bin input stream
+     * @return the length
+     * @throws IOException if an I/O error occurs
+     */
+    static long readLegacyLength(Bin bin) throws IOException {
+        return bin.readInt() & 0xffffffffL;
     }
 
     /**
@@ -64,7 +203,7 @@ public class Deschubs {
      * @return root of the trie
      * @throws IOException if an I/O error occurs
      */
-    private TrieNode readTrie(Bin bin) throws IOException {
+    static TrieNode readTrie(Bin bin) throws IOException {
         boolean isLeaf = bin.readBit();
         if (isLeaf) {
             return new TrieNode(bin.readChar(), -1, null, null);
@@ -83,7 +222,7 @@ public class Deschubs {
     public void deLZW(String fnm, StandardOpenOption... stdOpen) throws IOException {
         try (Bin bin = new Bin(fnm);
                 Bout bout = new Bout(fnm.substring(0, fnm.lastIndexOf('.')), stdOpen)) {
-            decompressLZW(bin, bout);
+            deLZW(fnm, bin, bout);
         }
     }
 
@@ -97,80 +236,307 @@ public class Deschubs {
     public void deLZW(String fnm, ByteArrayOutputStream tar) throws IOException {
         try (Bin bin = new Bin(fnm);
                 Bout bout = new Bout(tar)) {
-            decompressLZW(bin, bout);
+            deLZW(fnm, bin, bout);
         }
     }
 
     /**
-     * LZW decompression algorithm
+     * Decompress an LZW stream or a container of blocks. The operation is
+     * counted in the Deschubs metrics
      * 
+     * @param fnm  file name of the input
      * @param bin  input stream
      * @param bout output stream
-     * @throws IOException if an I/O error occurs
+     * @throws IOException if an I/O error occurs or the format is not supported
+     * @see CodecMetrics
+     */
+    private void deLZW(String fnm, Bin bin, Bout bout) throws IOException {
+        try (CodecMetrics.Operation op = METRICS.start()) {
+            if (bin.peekBits(2 * Byte.SIZE) != (SchubsL.getHEADER() << Byte.SIZE | SchubsL.getPARALLEL_VERSION())) {
+                decompressLZW(bin, bout);
+            } else {
+                bin.skipBits(2 * Byte.SIZE);
+                new ParallelCodec(threads).decompress(bin, bout, this::decompressLZW);
+            }
+            bout.flush();
+            METRICS.addBytes(Files.size(Path.of(fnm)), bout.position());
+            op.succeeded();
+        }
+    }
+
+    /**
+     * LZW decompression algorithm. Streams without a header have fixed width
+     * codewords, and variable width streams give their maximum width in theirs,
+     * along with whether they may hold clear codewords. Each stream is a decode
+     * phase event, which measures the time spent writing the output when it is
+     * recorded
+     * 
+     * @param bin  input stream
+     * @param bout output stream
+     * @throws IOException if an I/O error occurs or the format is not supported
+     * @see LZWInputStream
      */
     private void decompressLZW(Bin bin, Bout bout) throws IOException {
-        String[] st = new String[SchubsL.getL()];
-        int i;
+        CodecPhaseEvent event = CodecPhaseEvent.start(CODEC, "decode");
+        LZWInputStream lzw = decoder(bin);
+        byte[] buf = new byte[Bout.getBUFFER_SIZE()];
+        long n = 0;
+        int len;
+        while ((len = lzw.read(buf)) != -1) {
+            long t = event.now();
+            bout.write(buf, 0, len);
+            event.addOutputTime(t);
+            n += len;
+        }
+        event.end(0, n);
+        record(lzw);
+    }
+
+    /**
+     * Read the header of an LZW stream, if any, and create the decoder of its
+     * codewords
+     * 
+     * @param bin input stream, at the start of the stream
+     * @return the decoder
+     * @throws IOException if an I/O error occurs or the format is not supported
+     */
+    static LZWInputStream decoder(Bin bin) throws IOException {
+        if (bin.peekBits(Byte.SIZE) != SchubsL.getHEADER()) {
+            return new LZWInputStream(bin);
+        }
+
+        bin.skipBits(Byte.SIZE);
+        int version = bin.readInt(Byte.SIZE);
+        if (version != SchubsL.getVARIABLE_VERSION() && version != SchubsL.getRESET_VERSION()) {
+            throw new IOException("Unsupported LZW format version " + version);
+        }
+        int maxWidth = bin.readInt(Byte.SIZE);
+        if (maxWidth < SchubsL.getMIN_WIDTH() || maxWidth > SchubsL.getMAX_WIDTH()) {
+            throw new IOException("Unsupported LZW codeword width " + maxWidth);
+        }
+        return new LZWInputStream(bin, maxWidth, version == SchubsL.getRESET_VERSION());
+    }
+
+    /**
+     * Add the codewords and dictionary of a finished decoder to the metrics
+     * 
+     * @param lzw the decoder
+     */
+    static void record(LZWInputStream lzw) {
+        METRICS.addCodes(lzw.getCodes());
+        METRICS.dictionary(lzw.getDictionarySize(), lzw.getDictionaryCapacity(), lzw.getResets());
+    }
 
-        for (i = 0; i < SchubsL.getR(); i++) {
-            st[i] = "" + (char) i;
+    /**
+     * Unarchive an archive. Members of an indexed archive are extracted one after
+     * the other using its central directory. Older archives are a single LZW
+     * stream over a tar, which is decoded as the tar is parsed, so files are
+     * extracted while the rest of the archive is still being read
+     * 
+     * @param fnm file name
+     * @param stdOpen open option. By default, option is set to CREATE
+     * @throws IOException if an I/O error occurs
+     */
+    public void unarchive(String fnm, StandardOpenOption... stdOpen) throws IOException {
+        try (CodecMetrics.Operation op = METRICS.start()) {
+            long out = 0;
+            if (isIndexed(fnm)) {
+                for (ArchiveEntry entry : list(fnm)) {
+                    extract(fnm, entry, stdOpen);
+                    out += entry.size();
+                }
+            } else {
+                try (Bin bin = new Bin(fnm);
+                        LZWInputStream lzw = new LZWInputStream(bin);
+                        Bin tar = new Bin(lzw)) {
+                    out = extract(tar, stdOpen);
+                    record(lzw);
+                }
+            }
+            METRICS.addBytes(Files.size(Path.of(fnm)), out);
+            op.succeeded();
         }
-        st[i++] = "";
+    }
 
-        int codeword = bin.readInt(SchubsL.getW());
-        String val = st[codeword];
+    /**
+     * Extract a single member of an indexed archive. Only the central directory
+     * and the member's own data are read
+     * 
+     * @param fnm    file name of the archive
+     * @param member name of the member as listed in the archive
+     * @param stdOpen open option. By default, option is set to CREATE
+     * @throws IOException if an I/O error occurs or the archive has no such
+     *                     member
+     */
+    public void unarchive(String fnm, String member, StandardOpenOption... stdOpen) throws IOException {
+        try (CodecMetrics.Operation op = METRICS.start()) {
+            for (ArchiveEntry entry : list(fnm)) {
+                if (entry.name().equals(member)) {
+                    extract(fnm, entry, stdOpen);
+                    METRICS.addBytes(entry.compressedSize(), entry.size());
+                    op.succeeded();
+                    return;
+                }
+            }
+            throw new IOException(member + " is not in " + fnm);
+        }
+    }
 
-        while (!bin.isEmpty() && codeword != SchubsL.getR()) {
-            validate(val);
-            bout.write(val);
+    /**
+     * Read the central directory of an indexed archive
+     * 
+     * @param fnm file name of the archive
+     * @return the entries of the archive's members, in archive order
+     * @throws IOException if an I/O error occurs or the file is not an indexed
+     *                     archive
+     */
+    public List<ArchiveEntry> list(String fnm) throws IOException {
+        if (!isIndexed(fnm)) {
+            throw new IOException(fnm + " has no central directory");
+        }
 
-            codeword = bin.readInt(SchubsL.getW());
-            if (codeword == SchubsL.getR()) {
-                break;
+        try (FileChannel ch = FileChannel.open(Path.of(fnm))) {
+            long size = ch.size();
+            if (size < 2 + SchubsArc.getFOOTER_BYTES()) {
+                throw new IOException("Invalid archive " + fnm);
             }
 
-            String s = st[codeword];
-            if (i == codeword) {
-                s = val + val.charAt(0);
+            ByteBuffer footer = read(ch, size - SchubsArc.getFOOTER_BYTES(), SchubsArc.getFOOTER_BYTES());
+            long directory = footer.getLong();
+            if ((footer.get() & 0xff) != SchubsArc.getHEADER()
+                    || (footer.get() & 0xff) != SchubsArc.getINDEXED_VERSION()
+                    || directory < 2 || directory > size - SchubsArc.getFOOTER_BYTES()
+                    || size - SchubsArc.getFOOTER_BYTES() - directory > Integer.MAX_VALUE) {
+                throw new IOException("Invalid archive " + fnm);
             }
-            if (i < SchubsL.getL()) {
-                st[i++] = val + s.charAt(0);
+
+            ByteBuffer buf = read(ch, directory, (int) (size - SchubsArc.getFOOTER_BYTES() - directory));
+            List<ArchiveEntry> entries = new ArrayList<>();
+            try (Bin bin = new Bin(new ByteArrayInputStream(buf.array()))) {
+                int n = bin.readInt();
+                for (int i = 0; i < n; i++) {
+                    ArchiveEntry entry = ArchiveEntry.read(bin);
+                    if (entry.offset() < 2 || entry.compressedSize() > directory - entry.offset()) {
+                        throw new IOException("Invalid archive entry " + entry.name());
+                    }
+                    entries.add(entry);
+                }
             }
+            return entries;
+        }
+    }
+
+    /**
+     * @param fnm file name of an archive
+     * @return true if the archive starts with the header of an indexed archive
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean isIndexed(String fnm) throws IOException {
+        try (Bin bin = new Bin(fnm)) {
+            return bin.peekBits(Byte.SIZE) == SchubsArc.getHEADER();
+        }
+    }
 
-            val = s;
+    /**
+     * Read bytes at a position of a file
+     * 
+     * @param ch  the file
+     * @param pos position of the first byte
+     * @param len number of bytes
+     * @return the bytes, ready to be read
+     * @throws IOException if an I/O error occurs or the file ends first
+     */
+    private ByteBuffer read(FileChannel ch, long pos, int len) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(len);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
         }
+        return buf.flip();
     }
 
-    private void validate(String val) {
-        if (val == null) {
-            throw new RuntimeException("Invalid LZW compressed file");
+    /**
+     * Extract one member of an indexed archive, seeking straight to its data, as
+     * an archive entry event
+     * 
+     * @param fnm   file name of the archive
+     * @param entry the member's directory entry
+     * @param stdOpen open option. By default, option is set to CREATE
+     * @throws IOException if an I/O error occurs or the member is corrupt
+     */
+    private void extract(String fnm, ArchiveEntry entry, StandardOpenOption... stdOpen) throws IOException {
+        ArchiveEntryEvent event = ArchiveEntryEvent.start(fnm, entry.name(), "extract");
+        nest(entry.name());
+        if (entry.codec() == ArchiveEntry.STORED) {
+            transfer(fnm, entry, stdOpen);
+        } else {
+            decode(fnm, entry, stdOpen);
         }
+        event.end(entry.codec() == ArchiveEntry.STORED, entry.size(), entry.compressedSize());
     }
 
     /**
-     * Unarchive an LZW compressed archive
+     * Decode a compressed member of an indexed archive. Only the member's own
+     * bytes are read, and they must end with the end codeword
      * 
-     * @param fnm file name
+     * @param fnm   file name of the archive
+     * @param entry the member's directory entry
      * @param stdOpen open option. By default, option is set to CREATE
-     * @throws IOException if an I/O error occurs
+     * @throws EOFException if the member ends before its end codeword
+     * @throws IOException  if an I/O error occurs or the member is corrupt
      */
-    public void unarchive(String fnm, StandardOpenOption... stdOpen) throws IOException {
-        ByteArrayOutputStream tar = new ByteArrayOutputStream();
-        deLZW(fnm, tar);
+    private void decode(String fnm, ArchiveEntry entry, StandardOpenOption... stdOpen) throws IOException {
+        try (FileChannel ch = FileChannel.open(Path.of(fnm));
+                Bin bin = new Bin(new Member(Channels.newInputStream(ch.position(entry.offset())),
+                        entry.compressedSize()));
+                Bout out = new Bout(entry.name(), stdOpen)) {
+            LZWInputStream lzw = new LZWInputStream(bin).requireEnd();
+            byte[] buf = new byte[Bout.getBUFFER_SIZE()];
+            long size = 0;
+            int len;
+            while ((len = lzw.read(buf)) != -1) {
+                out.write(buf, 0, len);
+                size += len;
+            }
+            if (size != entry.size()) {
+                throw new IOException("Invalid archive entry " + entry.name());
+            }
+            record(lzw);
+        }
+    }
 
-        try (Bin bin = new Bin(new ByteArrayInputStream(tar.toByteArray()))) {
-            extract(bin, stdOpen);
+    /**
+     * Extract a stored member by letting the file system copy its bytes
+     * 
+     * @param fnm   file name of the archive
+     * @param entry the member's directory entry
+     * @param stdOpen open option. By default, option is set to CREATE
+     * @throws IOException if an I/O error occurs or the archive ends first
+     */
+    private void transfer(String fnm, ArchiveEntry entry, StandardOpenOption... stdOpen) throws IOException {
+        try (FileChannel in = FileChannel.open(Path.of(fnm));
+                FileChannel out = Bout.openChannel(entry.name(), stdOpen)) {
+            for (long done = 0; done < entry.size();) {
+                long k = in.transferTo(entry.offset() + done, entry.size() - done, out);
+                if (k <= 0) {
+                    throw new IOException("Unexpected end of archive");
+                }
+                done += k;
+            }
         }
     }
 
     /**
-     * Extract files from an un-/de-compressed archive
+     * Extract files from a decompressed tar
      * 
      * @param bin input stream
      * @param stdOpen open option. By default, option is set to CREATE
+     * @return the total size of the extracted files
      * @throws IOException if an I/O error occurs
      */
-    private void extract(Bin bin, StandardOpenOption... stdOpen) throws IOException {
+    private long extract(Bin bin, StandardOpenOption... stdOpen) throws IOException {
+        long total = 0;
         while (!bin.isEmpty()) {
             int fnmsz = bin.readInt();
             bin.readChar();
@@ -187,10 +553,17 @@ public class Deschubs {
             bin.readChar();
 
             try (Bout out = new Bout(filename, stdOpen)) {
-                for (int i = 0; i < filesize; i++) {
-                    out.write(bin.readChar());
+                byte[] buf = new byte[Bout.getBUFFER_SIZE()];
+                for (long left = filesize; left > 0;) {
+                    int k = bin.read(buf, 0, (int) Math.min(buf.length, left));
+                    if (k == -1) {
+                        throw new IOException("Unexpected end of archive");
+                    }
+                    out.write(buf, 0, k);
+                    left -= k;
                 }
             }
+            total += filesize;
 
             // Ignore EOF
             if (!bin.isEmpty()) {
@@ -198,6 +571,7 @@ public class Deschubs {
                     break;
             }
         }
+        return total;
     }
 
     /**
@@ -233,20 +607,75 @@ public class Deschubs {
 
     public static void main(String[] args) {
         try {
-            validateArgs(args);
-
             Deschubs deschubs = new Deschubs();
-            for (String fnm : args) {
-                deschubs.decompress(fnm);
+            boolean[] list = new boolean[1];
+            String[] member = new String[1];
+            args = new CommandLine()
+                    .intOption(ParallelCodec.getTHREADS_OPTION(), deschubs::setThreads)
+                    .flag(LIST_OPTION, () -> list[0] = true)
+                    .option(MEMBER_OPTION, name -> member[0] = name)
+                    .parse(args);
+            validateArgs(args, list[0], member[0]);
+
+            if (list[0]) {
+                for (String fnm : args) {
+                    for (ArchiveEntry entry : deschubs.list(fnm)) {
+                        System.out.printf("%12d %12d %s%n", entry.size(), entry.compressedSize(), entry.name());
+                    }
+                }
+            } else if (member[0] != null) {
+                deschubs.unarchive(args[0], member[0], StandardOpenOption.CREATE_NEW);
+            } else {
+                for (String fnm : args) {
+                    deschubs.decompress(fnm);
+                }
             }
         } catch (IllegalArgumentException | IOException e) {
             System.err.println(e.getMessage());
         }
     }
 
-    private static void validateArgs(String[] args) {
-        if (args.length < 1) {
-            throw new IllegalArgumentException("Usage: java Deschubs <filename>.hh|ll|zl | <GLOB>");
+    private static void validateArgs(String[] args, boolean list, String member) {
+        if (args.length < 1 || (list && member != null) || (member != null && args.length != 1)) {
+            throw new IllegalArgumentException("Usage: java Deschubs [--threads <n>] <filename>.hh|ll|zl | <GLOB>\n" +
+                    "       java Deschubs --list <archive>.zl...\n" +
+                    "       java Deschubs --member <name> <archive>.zl");
+        }
+    }
+
+    /**
+     * Reads no further than the end of one member of an archive
+     */
+    private static class Member extends FilterInputStream {
+        private long remaining;
+
+        Member(InputStream in, long length) {
+            super(in);
+            remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining == 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining == 0) {
+                return len == 0 ? 0 : -1;
+            }
+            int k = super.read(b, off, (int) Math.min(len, remaining));
+            if (k > 0) {
+                remaining -= k;
+            }
+            return k;
         }
     }
 }
\ No newline at end of file
@@ -10,13 +10,17 @@ package IO;
  * Execute     : N/A
  */
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
 
 /**
  * Read binary data from input stream
@@ -31,48 +35,159 @@ import java.nio.file.Paths;
  * @author Matthias Schrock
  */
 public class Bin implements AutoCloseable {
-    private final InputStream bis;
-    private int buf;
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * Bytes of a file mapped at a time. Files larger than this, including those
+     * beyond the 2 GB limit of a single mapping, are remapped chunk by chunk
+     */
+    private static final int MAP_SIZE = 1 << 26;
+    private InputStream bis;
+    private FileChannel channel;
+    private ByteBuffer window;
+    private int mapSize;
+    private long mapped;
+    private long acc;
     private int n;
 
     /**
-     * Create a binary reader from a file
+     * Create a binary reader from a file. Regular files are memory-mapped, so
+     * bytes are read straight from the page cache; other files, such as pipes,
+     * are read as a stream
      * 
      * @param s file name
      * @throws IOException if an I/O error occurs
      */
     public Bin(String s) throws IOException {
+        this(s, MAP_SIZE);
+    }
+
+    /**
+     * Create a binary reader from a file, mapping regular files a given number
+     * of bytes at a time
+     * 
+     * @param s       file name
+     * @param mapSize bytes mapped at a time
+     * @throws IOException if an I/O error occurs
+     */
+    Bin(String s, int mapSize) throws IOException {
+        if (Files.isRegularFile(Paths.get(s))) {
+            channel = openChannel(s);
+            window = ByteBuffer.allocate(0);
+            this.mapSize = mapSize;
+        } else {
+            bis = open(s);
+            window = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+        }
+        fill();
+    }
+
+    /**
+     * Create a binary reader from an input stream. The first bytes are read
+     * here rather than on the first read, so that isEmpty can answer without
+     * reading. On a stream such as a socket, the constructor therefore waits
+     * until the first byte arrives or the stream ends, and reports any error of
+     * that first read
+     * 
+     * @param is the input stream
+     * @throws IOException if an I/O error occurs while reading the first bytes
+     */
+    public Bin(InputStream is) throws IOException {
+        bis = is;
+        window = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+        acc = 0;
+        n = 0;
+        fill();
+    }
+
+    /**
+     * Open a file for reading
+     * 
+     * @param s file name
+     * @return the input stream
+     * @throws IOException if an I/O error occurs
+     */
+    private static InputStream open(String s) throws IOException {
         try {
-            Path path = Paths.get(s);
-            bis = new BufferedInputStream(Files.newInputStream(path));
-            fill();
+            return Files.newInputStream(Paths.get(s));
         } catch (NoSuchFileException e) {
-            throw new NoSuchFileException(s + " could not be found." +
-                    " Check the name and path to the file before trying again.");
+            throw noSuchFile(s);
         } catch (IOException e) {
             throw new IOException("Error opening file " + s);
         }
     }
 
     /**
-     * Create a binary reader from an input stream
+     * Open a file for mapping
      * 
-     * @param is the input stream
+     * @param s file name
+     * @return the file channel
+     * @throws IOException if an I/O error occurs
      */
-    public Bin(InputStream is) {
-        bis = is;
-        buf = 0;
-        n = 0;
+    private static FileChannel openChannel(String s) throws IOException {
+        try {
+            return FileChannel.open(Paths.get(s), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw noSuchFile(s);
+        } catch (IOException e) {
+            throw new IOException("Error opening file " + s);
+        }
+    }
+
+    private static NoSuchFileException noSuchFile(String s) {
+        return new NoSuchFileException(s + " could not be found." +
+                " Check the name and path to the file before trying again.");
     }
 
     /**
-     * Fill the buffer with a byte from the input stream
+     * Top up the bit accumulator with as many whole bytes as it can hold. Once
+     * this returns with no buffered bits the input stream is exhausted
      * 
      * @throws IOException if an I/O error occurs
      */
     private void fill() throws IOException {
-        buf = bis.read();
-        n = Byte.SIZE;
+        int k = (Long.SIZE - n) >>> 3;
+        if (k == 0) {
+            return;
+        }
+
+        if (window.remaining() >= Long.BYTES) {
+            long w = window.getLong(window.position());
+            window.position(window.position() + k);
+            acc = k == Long.BYTES ? w : (acc << (k << 3)) | (w >>> (Long.SIZE - (k << 3)));
+            n += k << 3;
+            return;
+        }
+
+        for (; k > 0; k--) {
+            if (!window.hasRemaining() && !fillWindow()) {
+                return;
+            }
+            acc = (acc << Byte.SIZE) | (window.get() & 0xff);
+            n += Byte.SIZE;
+        }
+    }
+
+    /**
+     * Read the next block of the input stream into the window, or map the next
+     * chunk of a mapped file
+     * 
+     * @return false if the input stream is exhausted, true otherwise
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean fillWindow() throws IOException {
+        if (channel != null) {
+            long len = Math.min(mapSize, channel.size() - mapped);
+            if (len <= 0) {
+                return false;
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, mapped, len);
+            mapped += len;
+            return true;
+        }
+
+        int r = bis.read(window.array(), 0, window.capacity());
+        window.position(0).limit(Math.max(r, 0));
+        return r > 0;
     }
 
     /**
@@ -81,7 +196,7 @@ public class Bin implements AutoCloseable {
      * @return true if the input stream is empty, false otherwise
      */
     public boolean isEmpty() {
-        return buf == -1;
+        return n == 0;
     }
 
     /**
@@ -91,12 +206,40 @@ public class Bin implements AutoCloseable {
      */
     private void checkEmpty() throws IOException {
         if (isEmpty()) {
-            throw new IOException("Reading from empty input stream");
+            throw new EOFException("Reading from empty input stream");
+        }
+    }
+
+    /**
+     * Make sure at least r bits are buffered
+     * 
+     * @param r number of bits
+     * @throws IOException if an I/O error occurs or fewer than r bits remain
+     */
+    private void require(int r) throws IOException {
+        if (n < r) {
+            fill();
+            if (n < r) {
+                throw new EOFException("Reading from empty input stream");
+            }
         }
     }
 
     /**
-     * Read a string from the input stream
+     * Consume r buffered bits
+     * 
+     * @param r number of bits
+     * @throws IOException if an I/O error occurs
+     */
+    private void consume(int r) throws IOException {
+        n -= r;
+        if (n == 0) {
+            fill();
+        }
+    }
+
+    /**
+     * Read a string from the input stream, one char per byte
      * 
      * @return string value
      * @throws IOException if an I/O error occurs
@@ -111,39 +254,101 @@ public class Bin implements AutoCloseable {
     }
 
     /**
-     * Read all bytes from the input stream
+     * Read all bytes from the input stream as they are. A trailing partial byte
+     * is padded with zeros, as readChar does
      * 
      * @return byte array
      * @throws IOException if an I/O error occurs
      */
     public byte[] readAllBytes() throws IOException {
-        return readString().getBytes();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buf = new byte[BUFFER_SIZE];
+        int k;
+        while ((k = read(buf, 0, buf.length)) != -1) {
+            bytes.write(buf, 0, k);
+        }
+        return bytes.toByteArray();
     }
 
     /**
-     * Read a byte from the input stream
+     * Read up to len bytes into an array, as len calls to readChar would but
+     * without a call per byte. When the input is at a byte boundary the buffered
+     * whole bytes are handed out and the rest is copied straight from the window;
+     * otherwise the input is read a 32-bit word at a time and shifted into place
+     * 
+     * @param dst the array
+     * @param off offset of the first byte
+     * @param len maximum number of bytes to read
+     * @return the number of bytes read, or -1 if the input stream is empty
+     * @throws IOException               if an I/O error occurs
+     * @throws IndexOutOfBoundsException if off or len is out of range
+     */
+    public int read(byte[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (isEmpty()) {
+            return -1;
+        }
+
+        int i = off;
+        int end = off + len;
+        if ((n & (Byte.SIZE - 1)) == 0) {
+            for (; i < end && n > 0; n -= Byte.SIZE) {
+                dst[i++] = (byte) (acc >>> (n - Byte.SIZE));
+            }
+            while (i < end && (window.hasRemaining() || fillWindow())) {
+                int k = Math.min(end - i, window.remaining());
+                window.get(dst, i, k);
+                i += k;
+            }
+            fill();
+            return i - off;
+        }
+
+        for (; end - i >= Integer.BYTES; i += Integer.BYTES) {
+            if (n < Integer.SIZE) {
+                fill();
+                if (n < Integer.SIZE) {
+                    break;
+                }
+            }
+            int w = (int) (acc >>> (n - Integer.SIZE));
+            dst[i] = (byte) (w >>> 24);
+            dst[i + 1] = (byte) (w >>> 16);
+            dst[i + 2] = (byte) (w >>> 8);
+            dst[i + 3] = (byte) w;
+            consume(Integer.SIZE);
+        }
+        for (; i < end && !isEmpty(); i++) {
+            dst[i] = (byte) readChar();
+        }
+        return i - off;
+    }
+
+    /**
+     * Read a byte from the input stream. If fewer than 8 bits remain, they are
+     * padded with zeros
      * 
      * @return byte value
      * @throws IOException if an I/O error occurs
      */
     public char readChar() throws IOException {
         checkEmpty();
-
-        int x = buf;
-        if (n == Byte.SIZE) {
+        if (n < Byte.SIZE) {
             fill();
-            return (char) (x & 0xff);
         }
 
-        x <<= (Byte.SIZE - n);
-        int oldN = n;
-        fill();
-
-        if (!isEmpty()) {
-            n = oldN;
-            x |= buf >>> n;
+        if (n < Byte.SIZE) {
+            int x = (int) (acc << (Byte.SIZE - n)) & 0xff;
+            n = 0;
+            return (char) x;
         }
-        return (char) (x & 0xff);
+
+        int x = (int) (acc >>> (n - Byte.SIZE)) & 0xff;
+        consume(Byte.SIZE);
+        return (char) x;
     }
 
     /**
@@ -153,13 +358,7 @@ public class Bin implements AutoCloseable {
      * @throws IOException if an I/O error occurs
      */
     public int readInt() throws IOException {
-        int x = 0;
-        for (int i = 0; i < 4; i++) {
-            x <<= Byte.SIZE;
-            x |= readChar();
-        }
-
-        return x;
+        return readInt(Integer.SIZE);
     }
 
     /**
@@ -171,22 +370,11 @@ public class Bin implements AutoCloseable {
      * @throws IllegalArgumentException if r is not between 1 and 32
      */
     public int readInt(int r) throws IOException {
-        if (r < 1 || r > 32) {
-            throw new IllegalArgumentException("Illegal value for r = " + r);
-        }
-
-        if (r == 32) {
-            return readInt();
-        }
-
-        int x = 0;
-        for (int i = 0; i < r; i++) {
-            x <<= 1;
-            if (readBit()) {
-                x |= 1;
-            }
-        }
+        check(r);
+        require(r);
 
+        int x = (int) ((acc >>> (n - r)) & mask(r));
+        consume(r);
         return x;
     }
 
@@ -197,13 +385,8 @@ public class Bin implements AutoCloseable {
      * @throws IOException if an I/O error occurs
      */
     public long readLong() throws IOException {
-        long x = 0;
-        for (int i = 0; i < 8; i++) {
-            x <<= Byte.SIZE;
-            x |= readChar();
-        }
-
-        return x;
+        long hi = readInt(Integer.SIZE);
+        return (hi << Integer.SIZE) | (readInt(Integer.SIZE) & 0xffffffffL);
     }
 
     /**
@@ -214,13 +397,56 @@ public class Bin implements AutoCloseable {
      */
     public boolean readBit() throws IOException {
         checkEmpty();
-        n--;
-        boolean bit = ((buf >> n) & 1) == 1;
-        if (n == 0) {
+
+        boolean bit = ((acc >>> (n - 1)) & 1) == 1;
+        consume(1);
+        return bit;
+    }
+
+    /**
+     * Look at the next r bits without consuming them. Bits past the end of the
+     * input stream read as zeros, which lets table-driven decoders peek a fixed
+     * width near the end of the stream
+     * 
+     * @param r number of bits to peek
+     * @return integer value of the next r bits
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if r is not between 1 and 32
+     */
+    public int peekBits(int r) throws IOException {
+        check(r);
+        if (n < r) {
             fill();
         }
 
-        return bit;
+        if (n < r) {
+            return (int) ((acc << (r - n)) & mask(r));
+        }
+        return (int) ((acc >>> (n - r)) & mask(r));
+    }
+
+    /**
+     * Consume the next r bits, usually after inspecting them with peekBits
+     * 
+     * @param r number of bits to skip
+     * @throws IOException              if an I/O error occurs or fewer than r
+     *                                  bits remain
+     * @throws IllegalArgumentException if r is not between 1 and 32
+     */
+    public void skipBits(int r) throws IOException {
+        check(r);
+        require(r);
+        consume(r);
+    }
+
+    private void check(int r) {
+        if (r < 1 || r > Integer.SIZE) {
+            throw new IllegalArgumentException("Illegal value for r = " + r);
+        }
+    }
+
+    private long mask(int r) {
+        return (1L << r) - 1;
     }
 
     /**
@@ -230,6 +456,10 @@ public class Bin implements AutoCloseable {
      */
     @Override
     public void close() throws IOException {
-        bis.close();
+        if (channel != null) {
+            channel.close();
+        } else {
+            bis.close();
+        }
     }
 }
\ No newline at end of file
@@ -10,14 +10,20 @@ package IO;
  * Execute     : N/A
  */
 
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import lombok.Getter;
 
 /**
  * Read binary data from input stream
@@ -32,9 +38,17 @@ import java.nio.file.StandardOpenOption;
  * @author Matthias Schrock
  */
 public class Bout implements AutoCloseable {
+    /**
+     * Bytes buffered before they are written out. Callers copying data through
+     * a Bout read it in chunks of this size
+     */
+    @Getter
+    private static final int BUFFER_SIZE = 1 << 16;
     private final OutputStream bos;
-    private int buf;
+    private final ByteBuffer window;
+    private long buf;
     private int n;
+    private long drained;
 
     /**
      * Create a binary writer from a file
@@ -45,28 +59,88 @@ public class Bout implements AutoCloseable {
      */
     public Bout(String s, StandardOpenOption... oo) throws IOException {
         try {
-            bos = new BufferedOutputStream(Files.newOutputStream(Paths.get(s), oo));
+            bos = Files.newOutputStream(Paths.get(s), oo);
         } catch (FileAlreadyExistsException e) {
             throw new FileAlreadyExistsException(s + " already exists. Try deleting or renaming it first.");
         } catch (IOException e) {
             throw new IOException("Error opening file " + s);
         }
 
+        window = ByteBuffer.allocate(BUFFER_SIZE);
         buf = 0;
         n = 0;
     }
 
     /**
-     * Create a binary writer from a buffered output stream
+     * Open a file for writing as a channel, with the same default options and
+     * errors as {@link #Bout(String, StandardOpenOption...)}. Channels can move
+     * bytes between files without copying them through the heap
      * 
-     * @param baos the buffered output stream
+     * @param s  file name
+     * @param oo the open option
+     * @return the file channel
+     * @throws IOException if an I/O error occurs
      */
-    public Bout(ByteArrayOutputStream baos) {
-        this.bos = baos;
+    public static FileChannel openChannel(String s, StandardOpenOption... oo) throws IOException {
+        Set<StandardOpenOption> options = EnumSet.noneOf(StandardOpenOption.class);
+        options.addAll(Arrays.asList(oo));
+        if (options.isEmpty()) {
+            options.add(StandardOpenOption.CREATE);
+            options.add(StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        options.add(StandardOpenOption.WRITE);
+
+        try {
+            return FileChannel.open(Paths.get(s), options);
+        } catch (FileAlreadyExistsException e) {
+            throw new FileAlreadyExistsException(s + " already exists. Try deleting or renaming it first.");
+        } catch (IOException e) {
+            throw new IOException("Error opening file " + s);
+        }
+    }
+
+    /**
+     * Create a binary writer on top of an output stream, such as a buffer or
+     * another encoder
+     * 
+     * @param os the output stream
+     */
+    public Bout(OutputStream os) {
+        this.bos = os;
+        window = ByteBuffer.allocate(BUFFER_SIZE);
         buf = 0;
         n = 0;
     }
 
+    /**
+     * Write the low r bits of x to the output stream, most significant bit first.
+     * Bits are packed into a 64-bit register that is stored a whole word at a
+     * time, so a codeword of any width costs a single call
+     * 
+     * @param x the bits to write
+     * @param r the number of bits to write
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if r is not between 1 and 64
+     */
+    public void writeBits(long x, int r) throws IOException {
+        if (r < 1 || r > Long.SIZE) {
+            throw new IllegalArgumentException("Illegal value for r = " + r);
+        }
+
+        int free = Long.SIZE - n;
+        if (r < free) {
+            buf = (buf << r) | (x & mask(r));
+            n += r;
+            return;
+        }
+
+        int rest = r - free;
+        long hi = (x & mask(r)) >>> rest;
+        putLong(free == Long.SIZE ? hi : (buf << free) | hi);
+        buf = x & mask(rest);
+        n = rest;
+    }
+
     /**
      * Write a bit/boolean to the output stream
      * 
@@ -81,8 +155,9 @@ public class Bout implements AutoCloseable {
         }
 
         n++;
-        if (n == Byte.SIZE) {
-            clearBuf();
+        if (n == Long.SIZE) {
+            putLong(buf);
+            n = 0;
         }
     }
 
@@ -97,13 +172,51 @@ public class Bout implements AutoCloseable {
             throw new IllegalArgumentException("Illegal 8-bit byte: " + x);
         }
 
-        if (n == 0) {
-            bos.write(x);
+        writeBits(x, Byte.SIZE);
+    }
+
+    /**
+     * Write len bytes from an array, as len calls to writeByte would but without
+     * a call per byte. When the output is at a byte boundary the bytes are copied
+     * straight into the window, or past it to the output stream if there are
+     * many; otherwise they are packed a 64-bit word at a time
+     * 
+     * @param src the array
+     * @param off offset of the first byte
+     * @param len number of bytes to write
+     * @throws IOException               if an I/O error occurs
+     * @throws IndexOutOfBoundsException if off or len is out of range
+     */
+    public void write(byte[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        int i = off;
+        int end = off + len;
+        if ((n & (Byte.SIZE - 1)) != 0) {
+            ByteBuffer words = ByteBuffer.wrap(src);
+            for (; end - i >= Long.BYTES; i += Long.BYTES) {
+                writeBits(words.getLong(i), Long.SIZE);
+            }
+            for (; i < end; i++) {
+                writeBits(src[i], Byte.SIZE);
+            }
             return;
         }
 
-        for (int i = 0; i < Byte.SIZE; i++) {
-            writeBit(((x >>> (Byte.SIZE - i - 1)) & 1) == 1);
+        clearBuf();
+        if (len >= window.capacity()) {
+            drain();
+            bos.write(src, off, len);
+            drained += len;
+            return;
+        }
+        while (i < end) {
+            if (!window.hasRemaining()) {
+                drain();
+            }
+            int k = Math.min(end - i, window.remaining());
+            window.put(src, i, k);
+            i += k;
         }
     }
 
@@ -140,10 +253,7 @@ public class Bout implements AutoCloseable {
      * @throws IOException if an I/O error occurs
      */
     public void write(int x) throws IOException {
-        writeByte((x >>> 24) & 0xff);
-        writeByte((x >>> 16) & 0xff);
-        writeByte((x >>> 8) & 0xff);
-        writeByte((x) & 0xff);
+        writeBits(x, Integer.SIZE);
     }
 
     /**
@@ -165,9 +275,7 @@ public class Bout implements AutoCloseable {
             throw new IllegalArgumentException("Illegal " + r + "-bit char: " + x);
         }
 
-        for (int i = 0; i < r; i++) {
-            writeBit(((x >>> (r - i - 1)) & 1) == 1);
-        }
+        writeBits(x, r);
     }
 
     /**
@@ -177,8 +285,15 @@ public class Bout implements AutoCloseable {
      * @throws IOException if an I/O error occurs
      */
     public void write(long l) throws IOException {
-        write((int) (l >>> 32));
-        write((int) l);
+        writeBits(l, Long.SIZE);
+    }
+
+    /**
+     * @return the number of bytes written so far, counting a partially written
+     *         byte as a whole byte
+     */
+    public long position() {
+        return drained + window.position() + (n + Byte.SIZE - 1) / Byte.SIZE;
     }
 
     /**
@@ -193,12 +308,35 @@ public class Bout implements AutoCloseable {
     }
 
     /**
-     * flush the buffer
+     * flush the buffer. A partially written byte is padded with zeros
      * 
      * @throws IOException if an I/O error occurs
      */
     public void flush() throws IOException {
         clearBuf();
+        drain();
+        bos.flush();
+    }
+
+    /**
+     * Write every whole byte written so far to the output stream and flush it.
+     * Unlike {@link #flush()}, the bits of a partial byte stay buffered rather
+     * than being padded, so writing can go on at the same bit position
+     * 
+     * @throws IOException if an I/O error occurs
+     */
+    public void flushBytes() throws IOException {
+        int whole = n & -Byte.SIZE;
+        for (int i = n - Byte.SIZE; i >= n - whole; i -= Byte.SIZE) {
+            if (!window.hasRemaining()) {
+                drain();
+            }
+            window.put((byte) (buf >>> i));
+        }
+
+        n -= whole;
+        buf &= mask(n);
+        drain();
         bos.flush();
     }
 
@@ -211,12 +349,45 @@ public class Bout implements AutoCloseable {
         if (n == 0) {
             return;
         }
-        if (n > 0) {
-            buf <<= (Byte.SIZE - n);
+
+        int pad = -n & (Byte.SIZE - 1);
+        long x = buf << pad;
+        for (int i = n + pad - Byte.SIZE; i >= 0; i -= Byte.SIZE) {
+            if (!window.hasRemaining()) {
+                drain();
+            }
+            window.put((byte) (x >>> i));
         }
 
-        bos.write(buf);
         n = 0;
         buf = 0;
     }
+
+    /**
+     * Store a full 64-bit register in the window
+     * 
+     * @param x the register
+     * @throws IOException if an I/O error occurs
+     */
+    private void putLong(long x) throws IOException {
+        if (window.remaining() < Long.BYTES) {
+            drain();
+        }
+        window.putLong(x);
+    }
+
+    /**
+     * Write the window to the output stream
+     * 
+     * @throws IOException if an I/O error occurs
+     */
+    private void drain() throws IOException {
+        bos.write(window.array(), 0, window.position());
+        drained += window.position();
+        window.clear();
+    }
+
+    private static long mask(int r) {
+        return r == Long.SIZE ? -1L : (1L << r) - 1;
+    }
 }
\ No newline at end of file
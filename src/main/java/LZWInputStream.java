@@ -0,0 +1,287 @@
+/*
+ * Program     : LZWInputStream
+ * Description : Input stream that decodes LZW codewords on demand
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import IO.Bin;
+
+/**
+ * Input stream that decodes LZW codewords on demand. A codeword is read from
+ * the underlying binary reader only when the bytes of the previous one have
+ * been consumed, so a consumer such as an archive parser can pull decoded data
+ * as it needs it in constant memory. The string table is stored as the code of
+ * each entry's prefix and its last byte, so adding an entry never copies a
+ * string. Each codeword is expanded by walking its prefix chain backwards into
+ * a reusable buffer. Codewords are read with the width the matching
+ * {@link LZWOutputStream} wrote them with, and a clear codeword empties the
+ * dictionary just as it did in the encoder
+ *
+ * @author Matthias Schrock
+ * @see SchubsL
+ */
+public class LZWInputStream extends InputStream {
+    private final Bin bin;
+    private final int capacity;
+    private final boolean variable;
+    private final boolean reset;
+    private final int first;
+    private final int[] prefix;
+    private final byte[] suffix;
+    private final int[] length;
+    private final byte[] buf;
+    private int len;
+    private int pos;
+    private int code;
+    private int prev = -1;
+    private long codes;
+    private long resets;
+    private boolean eof;
+    private boolean requireEnd;
+
+    /**
+     * Create a decoder reading fixed width codewords from a binary reader
+     *
+     * @param bin the binary reader
+     */
+    public LZWInputStream(Bin bin) {
+        this(bin, SchubsL.getW(), false, false);
+    }
+
+    /**
+     * Create a decoder reading variable width codewords from a binary reader
+     *
+     * @param bin      the binary reader
+     * @param maxWidth the widest codeword the encoder was given
+     * @throws IllegalArgumentException if maxWidth is out of range
+     * @see SchubsL#checkMaxWidth(int)
+     */
+    public LZWInputStream(Bin bin, int maxWidth) {
+        this(bin, maxWidth, false);
+    }
+
+    /**
+     * Create a decoder reading variable width codewords from a binary reader,
+     * optionally with clear codewords
+     *
+     * @param bin      the binary reader
+     * @param maxWidth the widest codeword the encoder was given
+     * @param reset    whether the stream may hold clear codewords
+     * @throws IllegalArgumentException if maxWidth is out of range
+     * @see SchubsL#checkMaxWidth(int)
+     */
+    public LZWInputStream(Bin bin, int maxWidth, boolean reset) {
+        this(bin, SchubsL.checkMaxWidth(maxWidth), true, reset);
+    }
+
+    private LZWInputStream(Bin bin, int maxWidth, boolean variable, boolean reset) {
+        this.bin = bin;
+        this.capacity = 1 << maxWidth;
+        this.variable = variable;
+        this.reset = reset;
+        first = reset ? SchubsL.getCLEAR() + 1 : SchubsL.getR() + 1;
+        code = first;
+        prefix = new int[capacity];
+        suffix = new byte[capacity];
+        length = new int[capacity];
+        buf = new byte[capacity];
+        for (int c = 0; c < SchubsL.getR(); c++) {
+            suffix[c] = (byte) c;
+            length[c] = 1;
+        }
+    }
+
+    /**
+     * Treat input that ends before the end codeword as truncated rather than as
+     * the end of the stream. Files written by early versions of SchubsL may stop
+     * without an end codeword, so only readers of streams that always hold one
+     * should ask for this
+     *
+     * @return this decoder
+     */
+    public LZWInputStream requireEnd() {
+        requireEnd = true;
+        return this;
+    }
+
+    /**
+     * Read the next decoded byte
+     *
+     * @return the byte, or -1 at the end of the stream
+     * @throws EOFException     if the end codeword is required and the input
+     *                          ends before it
+     * @throws IOException      if an I/O error occurs
+     * @throws RuntimeException if the input is not valid LZW
+     */
+    @Override
+    public int read() throws IOException {
+        if (pos == len && !decode()) {
+            return -1;
+        }
+        return buf[pos++] & 0xff;
+    }
+
+    /**
+     * Read decoded bytes into an array
+     *
+     * @param b     the array
+     * @param off   offset of the first byte
+     * @param count maximum number of bytes to read
+     * @return the number of bytes read, or -1 at the end of the stream
+     * @throws EOFException     if the end codeword is required and the input
+     *                          ends before it
+     * @throws IOException      if an I/O error occurs
+     * @throws RuntimeException if the input is not valid LZW
+     */
+    @Override
+    public int read(byte[] b, int off, int count) throws IOException {
+        if (count == 0) {
+            return 0;
+        }
+
+        int n = 0;
+        while (n < count) {
+            if (pos == len && !decode()) {
+                break;
+            }
+            int k = Math.min(count - n, len - pos);
+            System.arraycopy(buf, pos, b, off + n, k);
+            pos += k;
+            n += k;
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    /**
+     * Decode the next codeword into the buffer
+     *
+     * @return false at the end of the stream
+     * @throws EOFException if the end codeword is required and the input ends
+     *                      before it
+     * @throws IOException  if an I/O error occurs
+     */
+    private boolean decode() throws IOException {
+        if (eof) {
+            return false;
+        }
+        // A stream always holds at least the end codeword, so only later
+        // codewords may be missing, and only from files that do not require it
+        if (prev != -1 && bin.isEmpty()) {
+            if (requireEnd) {
+                throw new EOFException("Truncated LZW stream");
+            }
+            eof = true;
+            return false;
+        }
+
+        // Past the first codeword, the encoder may already have added the entry
+        // this decoder adds next
+        int limit = prev == -1 ? code : code + 1;
+        int codeword;
+        try {
+            codeword = bin.readInt(variable ? SchubsL.width(limit, capacity) : SchubsL.getW());
+        } catch (EOFException e) {
+            if (!requireEnd) {
+                throw e;
+            }
+            throw new EOFException("Truncated LZW stream");
+        }
+        codes++;
+        if (codeword == SchubsL.getR()) {
+            eof = true;
+            return false;
+        }
+        if (reset && codeword == SchubsL.getCLEAR()) {
+            // The next codeword starts over with a single byte, so at most one
+            // clear codeword is read in a row
+            validate(prev != -1);
+            code = first;
+            prev = -1;
+            resets++;
+            return decode();
+        }
+
+        if (prev == -1) {
+            validate(codeword < SchubsL.getR());
+            buf[0] = (byte) codeword;
+            len = 1;
+        } else {
+            if (codeword < code) {
+                len = length[codeword];
+                for (int j = len - 1, c = codeword; j >= 0; j--, c = prefix[c]) {
+                    buf[j] = suffix[c];
+                }
+            } else {
+                // The codeword is the entry about to be added: the previous string
+                // (still in buf) followed by its own first byte
+                validate(codeword == code);
+                buf[len++] = buf[0];
+            }
+
+            if (code < capacity) {
+                prefix[code] = prev;
+                suffix[code] = buf[0];
+                length[code] = length[prev] + 1;
+                code++;
+            }
+        }
+
+        prev = codeword;
+        pos = 0;
+        return true;
+    }
+
+    /**
+     * @return the number of codewords read so far, including clear and end
+     *         codewords
+     */
+    public long getCodes() {
+        return codes;
+    }
+
+    /**
+     * @return the number of strings in the dictionary beyond the single bytes
+     */
+    public int getDictionarySize() {
+        return code - first;
+    }
+
+    /**
+     * @return the number of strings the dictionary can hold beyond the single
+     *         bytes
+     */
+    public int getDictionaryCapacity() {
+        return capacity - first;
+    }
+
+    /**
+     * @return the number of times the dictionary was cleared
+     */
+    public long getResets() {
+        return resets;
+    }
+
+    private void validate(boolean valid) {
+        if (!valid) {
+            throw new RuntimeException("Invalid LZW compressed file");
+        }
+    }
+
+    /**
+     * Close the binary reader
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        bin.close();
+    }
+}
\ No newline at end of file
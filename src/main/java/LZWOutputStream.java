@@ -0,0 +1,269 @@
+/*
+ * Program     : LZWOutputStream
+ * Description : Output stream that LZW encodes the bytes written to it
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import DataStructures.LZWDictionary;
+import IO.Bout;
+
+/**
+ * Output stream that LZW encodes the bytes written to it. Each byte advances
+ * the current match by one step, and codewords are written to the underlying
+ * binary writer as soon as a match ends, so a producer can push data of any
+ * size through the encoder in constant memory. Codewords are either all
+ * {@link SchubsL#getW() W} bits wide, or just wide enough for the largest code
+ * assigned so far, growing from 9 bits up to a maximum width. A variable width
+ * encoder may also reset its dictionary: once the dictionary is full, the
+ * compression ratio of each window of input is compared with the best window
+ * since it filled up, and when it has dropped by more than an eighth the
+ * {@link SchubsL#getCLEAR() clear} codeword is written and the dictionary starts
+ * over, so it follows input whose statistics drift
+ *
+ * @author Matthias Schrock
+ * @see SchubsL
+ */
+public class LZWOutputStream extends OutputStream {
+    /**
+     * Input bytes per window of the compression ratio
+     */
+    private static final int WINDOW = 1 << 16;
+    private final Bout bout;
+    private final int capacity;
+    private final boolean variable;
+    private final boolean reset;
+    private final int first;
+    private final LZWDictionary st;
+    private int code;
+    private int match = -1;
+    private long in;
+    private long out;
+    private long bestIn;
+    private long bestOut;
+    private long codes;
+    private long resets;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Create an encoder writing fixed width codewords to a binary writer
+     *
+     * @param bout the binary writer
+     */
+    public LZWOutputStream(Bout bout) {
+        this(bout, SchubsL.getW(), false, false);
+    }
+
+    /**
+     * Create an encoder writing variable width codewords to a binary writer
+     *
+     * @param bout     the binary writer
+     * @param maxWidth the widest codeword, which sets the dictionary to
+     *                 2^maxWidth codes
+     * @throws IllegalArgumentException if maxWidth is out of range
+     * @see SchubsL#checkMaxWidth(int)
+     */
+    public LZWOutputStream(Bout bout, int maxWidth) {
+        this(bout, maxWidth, false);
+    }
+
+    /**
+     * Create an encoder writing variable width codewords to a binary writer,
+     * optionally resetting the dictionary when the compression ratio drops
+     *
+     * @param bout     the binary writer
+     * @param maxWidth the widest codeword, which sets the dictionary to
+     *                 2^maxWidth codes
+     * @param reset    whether to write clear codewords
+     * @throws IllegalArgumentException if maxWidth is out of range
+     * @see SchubsL#checkMaxWidth(int)
+     */
+    public LZWOutputStream(Bout bout, int maxWidth, boolean reset) {
+        this(bout, SchubsL.checkMaxWidth(maxWidth), true, reset);
+    }
+
+    private LZWOutputStream(Bout bout, int maxWidth, boolean variable, boolean reset) {
+        this.bout = bout;
+        this.capacity = 1 << maxWidth;
+        this.variable = variable;
+        this.reset = reset;
+        first = reset ? SchubsL.getCLEAR() + 1 : SchubsL.getR() + 1;
+        code = first;
+        st = new LZWDictionary(capacity);
+    }
+
+    /**
+     * Encode one byte
+     *
+     * @param b the byte, in the low 8 bits
+     * @throws IOException if an I/O error occurs or the stream is finished
+     */
+    @Override
+    public void write(int b) throws IOException {
+        if (finished) {
+            throw new IOException("Writing to finished LZW stream");
+        }
+
+        int c = b & 0xff;
+        in++;
+        if (match == -1) {
+            match = c;
+            return;
+        }
+
+        int next = st.get(match, c);
+        if (next != -1) {
+            match = next;
+            return;
+        }
+
+        writeCodeword(match, code);
+        if (code < capacity) {
+            st.put(match, c, code++);
+            if (code == capacity) {
+                in = out = bestIn = bestOut = 0;
+            }
+        } else if (reset && deteriorated()) {
+            // The decoder adds nothing for the match either, as its dictionary is
+            // full too
+            writeCodeword(SchubsL.getCLEAR(), code + 1);
+            st.clear();
+            code = first;
+            resets++;
+        }
+        match = c;
+    }
+
+    /**
+     * Encode a run of bytes
+     *
+     * @param b   the bytes
+     * @param off offset of the first byte
+     * @param len number of bytes
+     * @throws IOException               if an I/O error occurs or the stream is
+     *                                   finished
+     * @throws IndexOutOfBoundsException if off or len is out of range, before
+     *                                   any byte is encoded
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        for (int i = off; i < off + len; i++) {
+            write(b[i]);
+        }
+    }
+
+    /**
+     * Write the codeword of the pending match and the end of stream codeword. The
+     * binary writer is left open
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+
+        // The decoder adds an entry on reading the pending match, unless it is the
+        // first codeword, so the end codeword may be one code wider
+        int limit = code;
+        if (match != -1) {
+            writeCodeword(match, code);
+            limit++;
+        }
+        writeCodeword(SchubsL.getR(), limit);
+        finished = true;
+    }
+
+    /**
+     * Close the current window of the compression ratio, if it is complete
+     *
+     * @return true if the window compressed more than an eighth worse than the
+     *         best window since the dictionary filled up
+     */
+    private boolean deteriorated() {
+        if (in < WINDOW) {
+            return false;
+        }
+
+        long windowIn = in;
+        long windowOut = out;
+        in = out = 0;
+        // windowIn / windowOut > bestIn / bestOut, without division
+        if (bestIn == 0 || windowIn * bestOut > bestIn * windowOut) {
+            bestIn = windowIn;
+            bestOut = windowOut;
+            return false;
+        }
+        return 8 * windowIn * bestOut < 7 * bestIn * windowOut;
+    }
+
+    /**
+     * Write a codeword
+     *
+     * @param codeword the codeword
+     * @param limit    the code the decoder may be about to add, which bounds the
+     *                 codewords it can read
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeCodeword(int codeword, int limit) throws IOException {
+        int width = variable ? SchubsL.width(limit, capacity) : SchubsL.getW();
+        bout.writeBits(codeword, width);
+        out += width;
+        codes++;
+    }
+
+    /**
+     * @return the number of codewords written so far, including clear and end
+     *         codewords
+     */
+    public long getCodes() {
+        return codes;
+    }
+
+    /**
+     * @return the number of strings in the dictionary beyond the single bytes
+     */
+    public int getDictionarySize() {
+        return code - first;
+    }
+
+    /**
+     * @return the number of strings the dictionary can hold beyond the single
+     *         bytes
+     */
+    public int getDictionaryCapacity() {
+        return capacity - first;
+    }
+
+    /**
+     * @return the number of times the dictionary was cleared
+     */
+    public long getResets() {
+        return resets;
+    }
+
+    /**
+     * Finish the stream and close the binary writer
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        finish();
+        bout.close();
+    }
+}
\ No newline at end of file
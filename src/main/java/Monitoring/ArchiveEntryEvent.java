@@ -0,0 +1,89 @@
+package Monitoring;
+
+/*
+ * Program     : ArchiveEntryEvent
+ * Description : Flight Recorder event for one member of an archive
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac ArchiveEntryEvent.java
+ * Execute     : N/A
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for adding one member to an archive or extracting one
+ * from it. The event's duration is the time taken by the member
+ *
+ * @author Matthias Schrock
+ * @see CodecPhaseEvent
+ */
+@Name("ShrinkWrap.ArchiveEntry")
+@Label("Archive Entry")
+@Category({ "ShrinkWrap", "Archive" })
+@Description("A member added to or extracted from an archive")
+@StackTrace(false)
+public class ArchiveEntryEvent extends jdk.jfr.Event {
+    @Label("Archive")
+    private String archive;
+
+    @Label("Member")
+    private String member;
+
+    @Label("Operation")
+    @Description("compress or extract")
+    private String operation;
+
+    @Label("Stored")
+    @Description("Whether the member is stored as is rather than compressed")
+    private boolean stored;
+
+    @Label("Size")
+    @DataAmount
+    private long size;
+
+    @Label("Compressed Size")
+    @DataAmount
+    private long compressedSize;
+
+    /**
+     * Start timing a member
+     *
+     * @param archive   file name of the archive
+     * @param member    name of the member
+     * @param operation compress or extract
+     * @return the event, to be ended when the member is done
+     */
+    public static ArchiveEntryEvent start(String archive, String member, String operation) {
+        ArchiveEntryEvent event = new ArchiveEntryEvent();
+        event.archive = archive;
+        event.member = member;
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the member and commit the event, if it is enabled and lasted past its
+     * threshold
+     *
+     * @param stored         whether the member is stored as is
+     * @param size           the member's original size
+     * @param compressedSize the size of the member's data in the archive
+     */
+    public void end(boolean stored, long size, long compressedSize) {
+        end();
+        if (shouldCommit()) {
+            this.stored = stored;
+            this.size = size;
+            this.compressedSize = compressedSize;
+            commit();
+        }
+    }
+}
\ No newline at end of file
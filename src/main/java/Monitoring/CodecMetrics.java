@@ -0,0 +1,285 @@
+package Monitoring;
+
+/*
+ * Program     : CodecMetrics
+ * Description : Counters of a codec's activity, published over JMX
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac CodecMetrics.java
+ * Execute     : N/A
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters of a codec's activity. There is one instance per codec name,
+ * registered with the platform MBean server the first time it is asked for, so
+ * an application embedding the codecs can watch them with any JMX client or
+ * read them in process with {@link #snapshot()}. Counters are LongAdders and
+ * codecs update them once per operation or block rather than per byte, so
+ * threads coding at once do not contend and the hot loops are untouched
+ *
+ * @author Matthias Schrock
+ * @see MetricsSnapshot
+ */
+public final class CodecMetrics implements CodecMetricsMXBean {
+    /**
+     * JMX domain of the metrics
+     */
+    public static final String DOMAIN = "ShrinkWrap";
+    private static final ConcurrentMap<String, CodecMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private final String codec;
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder active = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder codes = new LongAdder();
+    private final LongAdder dictionaryResets = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final ConcurrentMap<String, LongAdder> phases = new ConcurrentHashMap<>();
+    private volatile long dictionarySize;
+    private volatile long dictionaryCapacity;
+
+    private CodecMetrics(String codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Get the metrics of a codec, creating and registering them on first use
+     *
+     * @param codec name of the codec
+     * @return the codec's metrics
+     * @throws IllegalArgumentException if the name is not valid in a JMX object
+     *                                  name
+     */
+    public static CodecMetrics of(String codec) {
+        return METRICS.computeIfAbsent(codec, CodecMetrics::register);
+    }
+
+    /**
+     * @return a snapshot of every codec's metrics, by codec name
+     */
+    public static Map<String, MetricsSnapshot> snapshots() {
+        Map<String, MetricsSnapshot> snapshots = new TreeMap<>();
+        METRICS.forEach((name, metrics) -> snapshots.put(name, metrics.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * @param codec name of the codec
+     * @return the JMX object name of the codec's metrics
+     * @throws IllegalArgumentException if the name is not valid in an object
+     *                                  name
+     */
+    public static ObjectName objectName(String codec) {
+        try {
+            return new ObjectName(DOMAIN + ":type=CodecMetrics,name=" + codec);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid codec name: " + codec, e);
+        }
+    }
+
+    private static CodecMetrics register(String codec) {
+        CodecMetrics metrics = new CodecMetrics(codec);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName(codec));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by a copy of this class from another class loader, which
+            // keeps publishing its own counters
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics of " + codec, e);
+        }
+        return metrics;
+    }
+
+    /**
+     * Start an operation. Closing the operation counts it and records its
+     * duration, and as a failure unless {@link Operation#succeeded()} was called
+     *
+     * @return the operation
+     */
+    public Operation start() {
+        active.increment();
+        return new Operation();
+    }
+
+    /**
+     * Count bytes consumed and produced
+     *
+     * @param in  bytes consumed
+     * @param out bytes produced
+     */
+    public void addBytes(long in, long out) {
+        bytesIn.add(in);
+        bytesOut.add(out);
+    }
+
+    /**
+     * Count codewords or symbols written or read
+     *
+     * @param n number of codes
+     */
+    public void addCodes(long n) {
+        codes.add(n);
+    }
+
+    /**
+     * Report the state of a dictionary at the end of a stream
+     *
+     * @param size     entries in the dictionary
+     * @param capacity capacity of the dictionary
+     * @param resets   number of times it was cleared
+     */
+    public void dictionary(long size, long capacity, long resets) {
+        dictionarySize = size;
+        dictionaryCapacity = capacity;
+        dictionaryResets.add(resets);
+    }
+
+    /**
+     * Add time spent in a phase of the codec
+     *
+     * @param phase name of the phase
+     * @param nanos time in nanoseconds
+     */
+    public void addPhase(String phase, long nanos) {
+        phases.computeIfAbsent(phase, p -> new LongAdder()).add(nanos);
+    }
+
+    /**
+     * @return the current values of the metrics
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(codec, operations.sum(), failures.sum(), active.sum(), bytesIn.sum(),
+                bytesOut.sum(), codes.sum(), dictionarySize, dictionaryCapacity, dictionaryResets.sum(),
+                latency.snapshot(), getPhaseNanos());
+    }
+
+    @Override
+    public String getCodec() {
+        return codec;
+    }
+
+    @Override
+    public long getOperations() {
+        return operations.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getActiveOperations() {
+        return active.sum();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getCodes() {
+        return codes.sum();
+    }
+
+    @Override
+    public long getDictionarySize() {
+        return dictionarySize;
+    }
+
+    @Override
+    public double getDictionaryFill() {
+        long capacity = dictionaryCapacity;
+        return capacity == 0 ? 0 : (double) dictionarySize / capacity;
+    }
+
+    @Override
+    public long getDictionaryResets() {
+        return dictionaryResets.sum();
+    }
+
+    @Override
+    public double getLatencyMeanNanos() {
+        return latency.snapshot().meanNanos();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latency.snapshot().percentileNanos(50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latency.snapshot().percentileNanos(99);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return latency.snapshot().maxNanos();
+    }
+
+    @Override
+    public Map<String, Long> getPhaseNanos() {
+        Map<String, Long> nanos = new TreeMap<>();
+        phases.forEach((phase, adder) -> nanos.put(phase, adder.sum()));
+        return Collections.unmodifiableMap(nanos);
+    }
+
+    /**
+     * An operation in progress
+     */
+    public final class Operation implements AutoCloseable {
+        private final long start = System.nanoTime();
+        private boolean succeeded;
+        private boolean closed;
+
+        private Operation() {
+        }
+
+        /**
+         * Mark the operation as successful
+         */
+        public void succeeded() {
+            succeeded = true;
+        }
+
+        /**
+         * Count the operation and record its duration. Later calls do nothing
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            latency.record(System.nanoTime() - start);
+            if (!succeeded) {
+                failures.increment();
+            }
+            operations.increment();
+            active.decrement();
+        }
+    }
+}
\ No newline at end of file
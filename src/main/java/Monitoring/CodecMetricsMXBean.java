@@ -0,0 +1,99 @@
+package Monitoring;
+
+/*
+ * Program     : CodecMetricsMXBean
+ * Description : Management interface of a codec's metrics
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac CodecMetricsMXBean.java
+ * Execute     : N/A
+ */
+
+import java.util.Map;
+
+/**
+ * Management interface of a codec's metrics, registered with the platform
+ * MBean server as ShrinkWrap:type=CodecMetrics,name=&lt;codec&gt;
+ *
+ * @author Matthias Schrock
+ * @see CodecMetrics
+ */
+public interface CodecMetricsMXBean {
+    /**
+     * @return the name of the codec
+     */
+    String getCodec();
+
+    /**
+     * @return the number of finished operations
+     */
+    long getOperations();
+
+    /**
+     * @return the number of operations that threw
+     */
+    long getFailures();
+
+    /**
+     * @return the number of operations in progress
+     */
+    long getActiveOperations();
+
+    /**
+     * @return the bytes consumed by the codec
+     */
+    long getBytesIn();
+
+    /**
+     * @return the bytes produced by the codec
+     */
+    long getBytesOut();
+
+    /**
+     * @return the codewords or symbols written or read
+     */
+    long getCodes();
+
+    /**
+     * @return the entries in the last dictionary reported
+     */
+    long getDictionarySize();
+
+    /**
+     * @return the fraction of the last dictionary reported that is in use
+     */
+    double getDictionaryFill();
+
+    /**
+     * @return the number of times a dictionary was cleared
+     */
+    long getDictionaryResets();
+
+    /**
+     * @return the mean duration of an operation in nanoseconds
+     */
+    double getLatencyMeanNanos();
+
+    /**
+     * @return the median duration of an operation in nanoseconds, to within a
+     *         factor of two
+     */
+    long getLatencyP50Nanos();
+
+    /**
+     * @return the 99th percentile duration of an operation in nanoseconds, to
+     *         within a factor of two
+     */
+    long getLatencyP99Nanos();
+
+    /**
+     * @return the longest duration of an operation in nanoseconds
+     */
+    long getLatencyMaxNanos();
+
+    /**
+     * @return the total time spent in each phase of the codec, in nanoseconds
+     */
+    Map<String, Long> getPhaseNanos();
+}
\ No newline at end of file
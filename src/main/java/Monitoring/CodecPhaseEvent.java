@@ -0,0 +1,137 @@
+package Monitoring;
+
+/*
+ * Program     : CodecPhaseEvent
+ * Description : Flight Recorder event for one phase of a codec
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac CodecPhaseEvent.java
+ * Execute     : N/A
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one phase of a codec, such as counting, building
+ * or encoding one Huffman block, or decoding one LZW stream. The event's
+ * duration is the time of the phase. Where reading the input or writing the
+ * output is interleaved with the phase, the time spent on it is measured
+ * separately, but only while the event is enabled. A disabled event costs a
+ * check of a flag, so the codecs emit them unconditionally:
+ *
+ * <pre>
+ * CodecPhaseEvent event = CodecPhaseEvent.start("SchubsL", "encode");
+ * long t = event.now();
+ * while ((len = bin.read(buf, 0, buf.length)) != -1) {
+ *     event.addInputTime(t);
+ *     ...
+ *     t = event.now();
+ * }
+ * event.addInputTime(t);
+ * event.end(n, out);
+ * </pre>
+ *
+ * @author Matthias Schrock
+ * @see ArchiveEntryEvent
+ */
+@Name("ShrinkWrap.CodecPhase")
+@Label("Codec Phase")
+@Category({ "ShrinkWrap", "Codec" })
+@Description("A phase of compressing or decompressing a stream")
+@StackTrace(false)
+public class CodecPhaseEvent extends jdk.jfr.Event {
+    @Label("Codec")
+    private String codec;
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Bytes In")
+    @DataAmount
+    private long bytesIn;
+
+    @Label("Bytes Out")
+    @DataAmount
+    private long bytesOut;
+
+    @Label("Input Time")
+    @Description("Time of the phase spent reading its input, if measured separately")
+    @Timespan(Timespan.NANOSECONDS)
+    private long inputTime;
+
+    @Label("Output Time")
+    @Description("Time of the phase spent writing its output, if measured separately")
+    @Timespan(Timespan.NANOSECONDS)
+    private long outputTime;
+
+    private transient boolean timed;
+
+    /**
+     * Start timing a phase
+     *
+     * @param codec name of the codec
+     * @param phase name of the phase
+     * @return the event, to be ended when the phase is over
+     */
+    public static CodecPhaseEvent start(String codec, String phase) {
+        CodecPhaseEvent event = new CodecPhaseEvent();
+        event.codec = codec;
+        event.phase = phase;
+        event.timed = event.isEnabled();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return the current time in nanoseconds if the event is enabled, else 0
+     *         without reading the clock
+     */
+    public long now() {
+        return timed ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Add the time since an instant to the time spent reading the input
+     *
+     * @param since the instant, from {@link #now()}
+     */
+    public void addInputTime(long since) {
+        if (timed) {
+            inputTime += System.nanoTime() - since;
+        }
+    }
+
+    /**
+     * Add the time since an instant to the time spent writing the output
+     *
+     * @param since the instant, from {@link #now()}
+     */
+    public void addOutputTime(long since) {
+        if (timed) {
+            outputTime += System.nanoTime() - since;
+        }
+    }
+
+    /**
+     * End the phase and commit the event, if it is enabled and lasted past its
+     * threshold
+     *
+     * @param bytesIn  bytes the phase consumed
+     * @param bytesOut bytes the phase produced
+     */
+    public void end(long bytesIn, long bytesOut) {
+        end();
+        if (shouldCommit()) {
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            commit();
+        }
+    }
+}
\ No newline at end of file
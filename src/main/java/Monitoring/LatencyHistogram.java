@@ -0,0 +1,112 @@
+package Monitoring;
+
+/*
+ * Program     : LatencyHistogram
+ * Description : Lock-free histogram of durations in power of two buckets
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac LatencyHistogram.java
+ * Execute     : N/A
+ */
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds. A duration is counted in
+ * the bucket of its bit length, so bucket i holds durations from 2^(i-1) up to
+ * 2^i - 1 and percentiles are exact to within a factor of two. Every bucket is
+ * a LongAdder, so threads recording at once do not contend on one counter
+ *
+ * @author Matthias Schrock
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = Long.SIZE;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param nanos the duration in nanoseconds. Negative durations, from a clock
+     *              going backwards, count as 0
+     */
+    public void record(long nanos) {
+        long d = Math.max(0, nanos);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(d)].increment();
+        total.add(d);
+        max.accumulate(d);
+    }
+
+    /**
+     * @return the durations recorded so far. Durations recorded while the
+     *         snapshot is taken may be only partly included
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, total.sum(), max.get());
+    }
+
+    /**
+     * Durations recorded by a histogram
+     *
+     * @param counts     number of durations in each bucket
+     * @param totalNanos sum of the durations
+     * @param maxNanos   longest duration
+     */
+    public record Snapshot(long[] counts, long totalNanos, long maxNanos) {
+        /**
+         * @return the number of durations
+         */
+        public long count() {
+            long n = 0;
+            for (long c : counts) {
+                n += c;
+            }
+            return n;
+        }
+
+        /**
+         * @return the mean duration in nanoseconds, 0 if there are none
+         */
+        public double meanNanos() {
+            long n = count();
+            return n == 0 ? 0 : (double) totalNanos / n;
+        }
+
+        /**
+         * Estimate a percentile as the upper bound of the bucket holding it
+         *
+         * @param p the percentile, from 0 to 100
+         * @return the duration in nanoseconds, at most the longest duration, or 0
+         *         if there are none
+         * @throws IllegalArgumentException if p is out of range
+         */
+        public long percentileNanos(double p) {
+            if (p < 0 || p > 100) {
+                throw new IllegalArgumentException("Illegal percentile: " + p);
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(p / 100 * count()));
+            for (int i = 0; i < counts.length; i++) {
+                rank -= counts[i];
+                if (rank <= 0) {
+                    long upper = i == 0 ? 0 : i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.min(upper, maxNanos);
+                }
+            }
+            return 0;
+        }
+    }
+}
\ No newline at end of file
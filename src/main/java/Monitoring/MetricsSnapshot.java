@@ -0,0 +1,37 @@
+package Monitoring;
+
+/*
+ * Program     : MetricsSnapshot
+ * Description : Values of a codec's metrics at one point in time
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac MetricsSnapshot.java
+ * Execute     : N/A
+ */
+
+import java.util.Map;
+
+/**
+ * Values of a codec's metrics at one point in time. Counters only grow, so the
+ * activity over an interval is the difference of two snapshots
+ *
+ * @param codec              name of the codec
+ * @param operations         number of finished operations
+ * @param failures           number of operations that threw
+ * @param activeOperations   number of operations in progress
+ * @param bytesIn            bytes consumed by the codec
+ * @param bytesOut           bytes produced by the codec
+ * @param codes              codewords or symbols written or read
+ * @param dictionarySize     entries in the last dictionary reported
+ * @param dictionaryCapacity capacity of the last dictionary reported
+ * @param dictionaryResets   number of times a dictionary was cleared
+ * @param latency            durations of the finished operations
+ * @param phaseNanos         total time spent in each phase of the codec
+ * @author Matthias Schrock
+ * @see CodecMetrics
+ */
+public record MetricsSnapshot(String codec, long operations, long failures, long activeOperations,
+        long bytesIn, long bytesOut, long codes, long dictionarySize, long dictionaryCapacity,
+        long dictionaryResets, LatencyHistogram.Snapshot latency, Map<String, Long> phaseNanos) {
+}
\ No newline at end of file
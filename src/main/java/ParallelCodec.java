@@ -0,0 +1,240 @@
+/*
+ * Program     : ParallelCodec
+ * Description : Compress and decompress independent blocks of a stream in
+ *               parallel
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import IO.Bin;
+import IO.Bout;
+import lombok.Getter;
+
+/**
+ * Compress and decompress a stream as a container of independently coded
+ * blocks. The input is cut into blocks that are coded concurrently on a
+ * ForkJoinPool and written in input order, each as a frame:
+ *
+ * <pre>
+ * [raw length : 32 bits][coded length : 32 bits][coded block]
+ * </pre>
+ *
+ * A raw length of 0 with no coded length ends the container. Every coded block
+ * is a complete stream in the codec's sequential format, and the frame lengths
+ * let the decoder cut the blocks apart without decoding them, so decompression
+ * runs in parallel as well. At most two blocks per thread are in flight, which
+ * bounds memory regardless of the input size
+ *
+ * @author Matthias Schrock
+ */
+public class ParallelCodec {
+    /**
+     * Command line option giving the number of threads
+     */
+    @Getter
+    private static final String THREADS_OPTION = "--threads";
+    /**
+     * Default number of input bytes per block
+     */
+    @Getter
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    private static final int MAX_BLOCK_SIZE = 1 << 26;
+    /**
+     * Largest coded block accepted. No codec expands a block more than fourfold
+     */
+    private static final int MAX_CODED_SIZE = 5 * MAX_BLOCK_SIZE;
+    private static final int IN_FLIGHT_PER_THREAD = 2;
+
+    /**
+     * Code one stream into another
+     */
+    @FunctionalInterface
+    public interface Codec {
+        /**
+         * @param bin  input stream
+         * @param bout output stream
+         * @throws IOException if an I/O error occurs
+         */
+        void code(Bin bin, Bout bout) throws IOException;
+    }
+
+    private final int threads;
+    private final int blockSize;
+
+    /**
+     * @param threads number of threads, at least 1
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public ParallelCodec(int threads) {
+        this(threads, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param threads   number of threads, at least 1
+     * @param blockSize input bytes per block, from 1 to 64 MiB
+     * @throws IllegalArgumentException if threads or blockSize is out of range
+     */
+    public ParallelCodec(int threads, int blockSize) {
+        checkThreads(threads);
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Illegal block size: " + blockSize);
+        }
+        this.threads = threads;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Check a thread count
+     *
+     * @param threads number of threads
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public static void checkThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1: " + threads);
+        }
+    }
+
+    /**
+     * Compress the input into a container of blocks
+     *
+     * @param bin   input stream
+     * @param bout  output stream, at a byte boundary
+     * @param codec compressor applied to each block
+     * @throws IOException if an I/O error occurs
+     */
+    public void compress(Bin bin, Bout bout, Codec codec) throws IOException {
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            Queue<Frame> inFlight = new ArrayDeque<>();
+            while (!bin.isEmpty()) {
+                byte[] block = readBlock(bin);
+                inFlight.add(new Frame(block.length, pool.submit(() -> code(codec, block))));
+                if (inFlight.size() == threads * IN_FLIGHT_PER_THREAD) {
+                    writeFrame(inFlight.remove(), bout);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeFrame(inFlight.remove(), bout);
+            }
+        }
+        bout.write(0);
+    }
+
+    /**
+     * Decompress a container of blocks
+     *
+     * @param bin   input stream, at the first frame
+     * @param bout  output stream
+     * @param codec decompressor applied to each block
+     * @throws IOException if an I/O error occurs or the container is malformed
+     */
+    public void decompress(Bin bin, Bout bout, Codec codec) throws IOException {
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            Queue<Frame> inFlight = new ArrayDeque<>();
+            int raw;
+            while ((raw = bin.readInt()) != 0) {
+                byte[] block = readFrame(raw, bin);
+                inFlight.add(new Frame(raw, pool.submit(() -> code(codec, block))));
+                if (inFlight.size() == threads * IN_FLIGHT_PER_THREAD) {
+                    writeBlock(inFlight.remove(), bout);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeBlock(inFlight.remove(), bout);
+            }
+        }
+    }
+
+    /**
+     * A block being coded
+     *
+     * @param raw  the uncompressed length of the block
+     * @param task the task coding the block
+     */
+    private record Frame(int raw, ForkJoinTask<byte[]> task) {
+        /**
+         * Wait for the block to be coded
+         *
+         * @return the coded block
+         * @throws IOException if coding the block failed with an I/O error
+         */
+        byte[] join() throws IOException {
+            try {
+                return task.join();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static byte[] code(Codec codec, byte[] block) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Bin bin = new Bin(new ByteArrayInputStream(block));
+                Bout bout = new Bout(baos)) {
+            codec.code(bin, bout);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    private byte[] readBlock(Bin bin) throws IOException {
+        byte[] block = new byte[blockSize];
+        int n = 0;
+        for (int k; n < blockSize && (k = bin.read(block, n, blockSize - n)) != -1;) {
+            n += k;
+        }
+        return n == blockSize ? block : Arrays.copyOf(block, n);
+    }
+
+    /**
+     * Read the coded block of a frame
+     *
+     * @param raw the frame's raw length, already read
+     * @param bin input stream, at the frame's coded length
+     * @return the coded block
+     * @throws IOException if an I/O error occurs or the frame is malformed
+     */
+    static byte[] readFrame(int raw, Bin bin) throws IOException {
+        int coded = bin.readInt();
+        if (raw < 0 || raw > MAX_BLOCK_SIZE || coded <= 0 || coded > MAX_CODED_SIZE) {
+            throw new IOException("Invalid block container");
+        }
+
+        byte[] block = new byte[coded];
+        for (int i = 0, k; i < coded; i += k) {
+            if ((k = bin.read(block, i, coded - i)) == -1) {
+                throw new IOException("Invalid block container");
+            }
+        }
+        return block;
+    }
+
+    private void writeFrame(Frame frame, Bout bout) throws IOException {
+        byte[] coded = frame.join();
+        bout.write(frame.raw());
+        bout.write(coded.length);
+        bout.write(coded, 0, coded.length);
+    }
+
+    private void writeBlock(Frame frame, Bout bout) throws IOException {
+        byte[] block = frame.join();
+        if (block.length != frame.raw()) {
+            throw new IOException("Invalid block container");
+        }
+        bout.write(block, 0, block.length);
+    }
+}
\ No newline at end of file
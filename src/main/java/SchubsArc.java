@@ -1,6 +1,6 @@
 /*
  * Program     : SchubsArc
- * Description : Create a tar of files using LZW encoding
+ * Description : Create an archive of files using LZW encoding
  * Author      : Matthias Schrock
  * Date        : 04-25-2024
  * Course      : CS375 Software Engineering II
@@ -8,82 +8,209 @@
  * Execute     : java SchubsArc <archive-name>.zl <file1> <[file2] [file3] ...>
  */
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import IO.Bin;
 import IO.Bout;
+import Monitoring.ArchiveEntryEvent;
+import Monitoring.CodecMetrics;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 /**
- * Create compressed and uncompressed tape archives
+ * Create archives of independently compressed files
  *
  * @author Matthias Schrock
  */
 @NoArgsConstructor
 public class SchubsArc {
     /**
-     * Separator character
+     * Separator character of archives written before the central directory
      * 
      * @see SchubsL
      */
     @Getter
     private static final char sep = (char) (SchubsL.getR() - 1);
+    /**
+     * First byte of an indexed archive, and of its footer. Archives without one
+     * start with an LZW codeword of at most R
+     */
+    @Getter
+    private static final int HEADER = 0xFF;
+    /**
+     * Format version of an archive of independently compressed members followed
+     * by a central directory
+     */
+    @Getter
+    private static final int INDEXED_VERSION = 2;
+    /**
+     * Size of the footer: the offset of the central directory, the header byte
+     * and the version
+     */
+    @Getter
+    private static final int FOOTER_BYTES = Long.BYTES + 2;
 
     /**
-     * Compress a set of input files into an LZW tape archive
+     * Number of leading bytes of a file compressed to decide whether to compress
+     * it at all
+     */
+    private static final int PROBE_SIZE = 1 << 16;
+    private static final CodecMetrics METRICS = CodecMetrics.of("SchubsArc");
+
+    /**
+     * Compress a set of input files into an indexed archive. Every file is
+     * compressed as its own LZW stream, and a central directory at the end of the
+     * archive records where each one starts, so a single member can be found and
+     * decoded without reading the others:
+     *
+     * <pre>
+     * [0xFF][version]
+     * [member 1]...[member n]
+     * [n : 32 bits][entry 1]...[entry n]
+     * [directory offset : 64 bits][0xFF][version]
+     * </pre>
+     *
+     * A file that LZW does not make smaller, such as already compressed media, is
+     * stored as is and copied between the files by the file system. Each member
+     * is recorded as an archive entry event. If the archive cannot be completed,
+     * the partly written file is deleted, so the same command can be run again
      *
      * @param achv name of the archive
      * @param fnms list of files to be included in the archive
      * @param stdOpen open options. By default, option is set to CREATE
      * @throws IOException if an I/O error occurs
+     * @see ArchiveEntry
+     * @see ArchiveEntryEvent
      */
     public void compress(String achv, String[] fnms, StandardOpenOption... stdOpen) throws IOException {
-        SchubsL schubsL = new SchubsL();
+        // Check every input before the archive is created
+        for (String fnm : fnms) {
+            check(Path.of(fnm));
+        }
 
-        try (ByteArrayOutputStream tar = new ByteArrayOutputStream()) {
-            tar(fnms).writeTo(tar);
-            schubsL.compress(achv, new ByteArrayInputStream(tar.toByteArray()), stdOpen);
+        try (CodecMetrics.Operation op = METRICS.start()) {
+            // An archive that cannot be opened, such as an existing one with
+            // CREATE_NEW, is left alone
+            FileChannel ch = Bout.openChannel(achv, stdOpen);
+            try {
+                write(achv, fnms, ch);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    Files.deleteIfExists(Path.of(achv));
+                } catch (IOException d) {
+                    e.addSuppressed(d);
+                }
+                throw e;
+            }
+            op.succeeded();
         }
     }
 
     /**
-     * Create a tar for compression
+     * Write the members and the directory of an archive
      *
+     * @param achv name of the archive
      * @param fnms list of files to be included in the archive
-     * @return archived output stream
+     * @param ch   the archive, which is closed when done
      * @throws IOException if an I/O error occurs
      */
-    private ByteArrayOutputStream tar(String[] fnms) throws IOException {
-        ByteArrayOutputStream tarCont = new ByteArrayOutputStream();
-        try (Bout bout = new Bout(tarCont)) {
+    private void write(String achv, String[] fnms, FileChannel ch) throws IOException {
+        try (ch; Bout bout = new Bout(Channels.newOutputStream(ch))) {
+            bout.writeBits(HEADER, Byte.SIZE);
+            bout.writeBits(INDEXED_VERSION, Byte.SIZE);
+            bout.flush();
+
+            List<ArchiveEntry> entries = new ArrayList<>();
             for (String fnm : fnms) {
-                Path filePath = Path.of(fnm);
-                check(filePath);
+                ArchiveEntryEvent event = ArchiveEntryEvent.start(achv, fnm, "compress");
+                long offset = ch.position();
+                if (compressible(fnm)) {
+                    LZWOutputStream lzw = new LZWOutputStream(bout);
+                    long size = copy(fnm, lzw);
+                    lzw.finish();
+                    bout.flush();
+                    METRICS.addCodes(lzw.getCodes());
+                    METRICS.dictionary(lzw.getDictionarySize(), lzw.getDictionaryCapacity(), lzw.getResets());
 
-                bout.write(fnm.length());
-                bout.write(sep);
-                bout.write(fnm);
-                bout.write(sep);
-                bout.write(Files.size(filePath));
-                bout.write(sep);
+                    if (ch.position() - offset < size) {
+                        entries.add(new ArchiveEntry(fnm, offset, ch.position() - offset, size, ArchiveEntry.LZW));
+                        event.end(false, size, ch.position() - offset);
+                        continue;
+                    }
+                    ch.truncate(offset);
+                }
 
-                copy(fnm, bout);
+                long size = store(fnm, ch);
+                entries.add(new ArchiveEntry(fnm, offset, size, size, ArchiveEntry.STORED));
+                event.end(true, size, size);
+            }
 
-                if (!fnm.equals(fnms[fnms.length - 1])) {
-                    bout.write(sep);
-                }
+            long directory = ch.position();
+            bout.write(entries.size());
+            for (ArchiveEntry entry : entries) {
+                entry.write(bout);
+            }
+            bout.write(directory);
+            bout.writeBits(HEADER, Byte.SIZE);
+            bout.writeBits(INDEXED_VERSION, Byte.SIZE);
+            bout.flush();
+            METRICS.addBytes(entries.stream().mapToLong(ArchiveEntry::size).sum(), ch.position());
+        }
+    }
+
+    /**
+     * Check whether LZW makes the start of a file smaller
+     *
+     * @param fnm name of the file
+     * @return false if the file is empty or its first bytes do not compress
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean compressible(String fnm) throws IOException {
+        ByteArrayOutputStream probe = new ByteArrayOutputStream();
+        long n = 0;
+        try (Bin bin = new Bin(fnm);
+                LZWOutputStream lzw = new LZWOutputStream(new Bout(probe))) {
+            byte[] buf = new byte[PROBE_SIZE];
+            for (int k; n < PROBE_SIZE && (k = bin.read(buf, 0, PROBE_SIZE - (int) n)) != -1; n += k) {
+                lzw.write(buf, 0, k);
             }
         }
+        return probe.size() < n;
+    }
 
-        return tarCont;
+    /**
+     * Append a file to the archive as is, letting the file system copy the bytes
+     *
+     * @param fnm name of the file
+     * @param ch  the archive, positioned at the end of the written data
+     * @return the number of bytes stored
+     * @throws IOException if an I/O error occurs
+     */
+    private long store(String fnm, FileChannel ch) throws IOException {
+        try (FileChannel in = FileChannel.open(Path.of(fnm))) {
+            long offset = ch.position();
+            long size = in.size();
+            for (long done = 0; done < size;) {
+                long k = ch.transferFrom(in, offset + done, size - done);
+                if (k <= 0) {
+                    throw new IOException("Unexpected end of file " + fnm);
+                }
+                done += k;
+            }
+            ch.position(offset + size);
+            return size;
+        }
     }
 
     private void check(Path filePath) throws IOException {
@@ -97,18 +224,22 @@ public class SchubsArc {
     }
 
     /**
-     * Copy the contents of a file to a binary output stream
+     * Copy the contents of a file to an output stream
      *
-     * @param fnm  name of the file to be copied
-     * @param bout binary output stream
+     * @param fnm name of the file to be copied
+     * @param os  output stream
+     * @return the number of bytes copied
      * @throws IOException if an I/O error occurs
      */
-    private void copy(String fnm, Bout bout) throws IOException {
+    private long copy(String fnm, OutputStream os) throws IOException {
+        long n = 0;
         try (Bin bin = new Bin(fnm)) {
-            while (!bin.isEmpty()) {
-                bout.write(bin.readChar());
+            byte[] buf = new byte[Bout.getBUFFER_SIZE()];
+            for (int k; (k = bin.read(buf, 0, buf.length)) != -1; n += k) {
+                os.write(buf, 0, k);
             }
         }
+        return n;
     }
 
     public static void main(String[] args) {
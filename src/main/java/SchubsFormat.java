@@ -0,0 +1,28 @@
+/*
+ * Program     : SchubsFormat
+ * Description : Compressed formats of the stream wrappers
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+/**
+ * Compressed formats of the stream wrappers. It is in the unnamed package with
+ * them, so it can only be imported from that package
+ *
+ * @author Matthias Schrock
+ * @see SchubsOutputStream
+ * @see SchubsInputStream
+ */
+public enum SchubsFormat {
+    /**
+     * LZW, as in the .ll files of SchubsL
+     */
+    LZW,
+    /**
+     * Huffman, as in the .hh files of SchubsH
+     */
+    HUFFMAN
+}
\ No newline at end of file
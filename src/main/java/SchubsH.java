@@ -5,8 +5,8 @@
  * Date        : 04-25-2024
  * Course      : CS375 Software Engineering II
  * Compile     : javac *.java
- * Execute     : Singe File CLI: java SchubsH <filename>
-    *            GLOB CLI: java SchubsH <GLOB>
+ * Execute     : Singe File CLI: java SchubsH [--threads <n>] [--max-code-length <bits>] [--block <bytes>] <filename>
+ *               GLOB CLI: java SchubsH [--threads <n>] [--max-code-length <bits>] [--block <bytes>] <GLOB>
  */
 
 import java.io.File;
@@ -17,9 +17,14 @@ import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.PriorityQueue;
 
+import DataStructures.CanonicalCode;
+import DataStructures.Histogram;
 import DataStructures.TrieNode;
 import IO.Bin;
 import IO.Bout;
+import Monitoring.CodecMetrics;
+import Monitoring.CodecPhaseEvent;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 /**
@@ -30,6 +35,125 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class SchubsH {
     private static final int R = 256;
+    /**
+     * Leading bits of a canonical Huffman file. Read as a legacy serialized trie
+     * they describe two leaves for the same symbol, which no legacy file contains
+     */
+    @Getter
+    private static final int MAGIC = 0x402000;
+    @Getter
+    private static final int MAGIC_BITS = 24;
+    /**
+     * Format version of a single canonical code followed by the input length and
+     * the codes of the whole input
+     */
+    @Getter
+    private static final int SINGLE_VERSION = 2;
+    /**
+     * Format version of a sequence of blocks, each with its own length, code and
+     * codes, written after the magic bits
+     */
+    @Getter
+    private static final int BLOCK_VERSION = 3;
+    /**
+     * Format version of a container of independently compressed parts
+     */
+    @Getter
+    private static final int PARALLEL_VERSION = 4;
+    /**
+     * Width of the field giving the bit width of the input length
+     */
+    @Getter
+    private static final int LENGTH_WIDTH_BITS = 6;
+    /**
+     * Default longest code. Codes this short decode in at most two table lookups
+     */
+    private static final int DEFAULT_MAX_CODE_LENGTH = 15;
+    private static final int MAX_CODE_LENGTH = CanonicalCode.getMAX_LENGTH();
+    /**
+     * Command line option giving the longest code
+     */
+    @Getter
+    private static final String MAX_CODE_LENGTH_OPTION = "--max-code-length";
+    /**
+     * Default number of input bytes per block
+     */
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 18;
+    private static final int MIN_BLOCK_SIZE = 1 << 10;
+    private static final int MAX_BLOCK_SIZE = 1 << 26;
+    /**
+     * Command line option giving the number of input bytes per block
+     */
+    @Getter
+    private static final String BLOCK_OPTION = "--block";
+    private static final String CODEC = "SchubsH";
+    /**
+     * Metrics of every Huffman compression, of files and of streams
+     */
+    @Getter
+    private static final CodecMetrics METRICS = CodecMetrics.of(CODEC);
+
+    /**
+     * Longest code the encoder may assign
+     */
+    @Getter
+    private int maxCodeLength = DEFAULT_MAX_CODE_LENGTH;
+    /**
+     * Number of input bytes coded with one table
+     */
+    @Getter
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    /**
+     * Number of threads compressing parts of the input
+     */
+    @Getter
+    private int threads = 1;
+
+    /**
+     * Cap the length of every code. Skewed inputs otherwise produce codes as long
+     * as the depth of the Huffman trie
+     * 
+     * @param maxCodeLength the longest code, from 8 to 32
+     * @throws IllegalArgumentException if maxCodeLength is out of range
+     */
+    public void setMaxCodeLength(int maxCodeLength) {
+        if (maxCodeLength < Byte.SIZE || maxCodeLength > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Maximum code length must be from " + Byte.SIZE +
+                    " to " + MAX_CODE_LENGTH + ": " + maxCodeLength);
+        }
+        this.maxCodeLength = maxCodeLength;
+    }
+
+    /**
+     * Set the number of input bytes coded with one table. Smaller blocks adapt
+     * faster to changing data, larger blocks spend fewer bits on tables. Only one
+     * block is held in memory. The frequencies of blocks over 1 MiB are counted
+     * by several threads. With several threads, each part of the container holds
+     * at least one whole block
+     * 
+     * @param blockSize bytes per block, from 1 KiB to 64 MiB
+     * @throws IllegalArgumentException if blockSize is out of range
+     * @see Histogram
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be from " + MIN_BLOCK_SIZE +
+                    " to " + MAX_BLOCK_SIZE + ": " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Compress with several threads. With more than one thread the input is cut
+     * into parts that are compressed independently and written to a container
+     * 
+     * @param threads the number of threads, at least 1
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public void setThreads(int threads) {
+        ParallelCodec.checkThreads(threads);
+        this.threads = threads;
+    }
 
     /**
      * Compress a file using huffman to filename.hh
@@ -39,42 +163,129 @@ public class SchubsH {
      * @throws IOException if an I/O error occurs
      */
     public void compress(String fnm, StandardOpenOption... stdOpen) throws IOException {
-        try (Bin bin = new Bin(fnm);
+        try (CodecMetrics.Operation op = METRICS.start();
+                Bin bin = new Bin(fnm);
                 Bout bout = new Bout(fnm + ".hh", stdOpen)) {
-            huffmanAlgorithm(bin, bout);
+            if (threads == 1) {
+                huffmanAlgorithm(bin, bout);
+            } else {
+                bout.writeBits(MAGIC, MAGIC_BITS);
+                bout.writeBits(PARALLEL_VERSION, Byte.SIZE);
+                int partSize = Math.max(blockSize, ParallelCodec.getDEFAULT_BLOCK_SIZE());
+                new ParallelCodec(threads, partSize).compress(bin, bout, this::huffmanAlgorithm);
+            }
+            METRICS.addBytes(0, bout.position());
+            op.succeeded();
         }
     }
 
     /**
-     * Huffman compression algorithm
+     * Huffman compression algorithm. The input is coded one block at a time, each
+     * block with the code built from its own frequencies. A block whose symbols
+     * all have codes in the previous block's code reuses that code when doing so
+     * costs no more bits than writing a new one
      * 
      * @param bin input stream
      * @param bout output stream
      * @throws IOException if an I/O error occurs
      */
     private void huffmanAlgorithm(Bin bin, Bout bout) throws IOException {
-        byte[] input = bin.readAllBytes();
+        bout.writeBits(MAGIC, MAGIC_BITS);
+        bout.writeBits(BLOCK_VERSION, Byte.SIZE);
 
-        int[] freq = new int[R];
-        for (byte value : input) {
-            freq[value]++;
+        byte[] block = new byte[blockSize];
+        CanonicalCode prev = null;
+        int n;
+        while ((n = readBlock(bin, block)) > 0) {
+            prev = writeBlock(block, n, prev, bout);
         }
+        writeLength(0, bout);
+    }
 
-        TrieNode root = buildTrie(freq)
-                .orElse(new TrieNode('\0', 0, null, null));
+    /**
+     * Read the next block of input
+     * 
+     * @param bin   input stream
+     * @param block buffer to fill
+     * @return the number of bytes read, 0 at the end of the input
+     * @throws IOException if an I/O error occurs
+     */
+    private int readBlock(Bin bin, byte[] block) throws IOException {
+        CodecPhaseEvent event = CodecPhaseEvent.start(CODEC, "read");
+        int n = 0;
+        for (int k; n < block.length && (k = bin.read(block, n, block.length - n)) != -1;) {
+            n += k;
+        }
+        event.end(n, 0);
+        return n;
+    }
 
-        String[] ct = new String[R];
-        buildCode(ct, root, "");
+    /**
+     * Write one block: its length, a bit telling whether the previous code is
+     * reused, the new code if it is not, and the codes of the block. Counting,
+     * building the code and encoding are each a phase event, and their times are
+     * added to the SchubsH metrics once per block
+     * 
+     * @param block input bytes
+     * @param n     number of bytes in the block
+     * @param prev  code of the previous block, or null for the first block
+     * @param bout  output stream
+     * @return the code the block was written with
+     * @throws IOException if an I/O error occurs
+     */
+    CanonicalCode writeBlock(byte[] block, int n, CanonicalCode prev, Bout bout)
+            throws IOException {
+        long start = System.nanoTime();
+        CodecPhaseEvent event = CodecPhaseEvent.start(CODEC, "count");
+        int[] freq = Histogram.of(block, 0, n);
+        event.end(n, 0);
+        long counted = System.nanoTime();
 
-        writeTrie(root, bout);
-        bout.write(input.length);
+        event = CodecPhaseEvent.start(CODEC, "build");
+        CanonicalCode code = CanonicalCode.of(buildTrie(freq).orElseThrow(), maxCodeLength);
+        long reused = prev == null ? -1 : prev.cost(freq);
+        boolean reuse = reused >= 0 && reused <= code.cost(freq) + code.tableBits();
+        event.end(0, 0);
+        long built = System.nanoTime();
+        METRICS.addPhase("count", counted - start);
+        METRICS.addPhase("build", built - counted);
+        METRICS.addBytes(n, 0);
+        METRICS.addCodes(n);
+
+        event = CodecPhaseEvent.start(CODEC, "encode");
+        long pos = bout.position();
+        writeLength(n, bout);
+        bout.writeBit(reuse);
+        if (reuse) {
+            code = prev;
+        } else {
+            code.write(bout);
+        }
 
-        for (byte b : input) {
-            String code = ct[b];
-            for (int j = 0; j < code.length(); j++) {
-                bout.writeBit(code.charAt(j) == '1');
+        if (code.maxLength() > 0) {
+            for (int i = 0; i < n; i++) {
+                int c = block[i] & 0xff;
+                bout.writeBits(code.code(c), code.length(c));
             }
         }
+        event.end(n, bout.position() - pos);
+        METRICS.addPhase("encode", System.nanoTime() - built);
+        return code;
+    }
+
+    /**
+     * Write a block length as its bit width followed by that many bits
+     * 
+     * @param length the block length
+     * @param bout   output stream
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeLength(long length, Bout bout) throws IOException {
+        int b = Long.SIZE - Long.numberOfLeadingZeros(length);
+        bout.writeBits(b, LENGTH_WIDTH_BITS);
+        if (b > 0) {
+            bout.writeBits(length, b);
+        }
     }
 
     /**
@@ -101,46 +312,16 @@ public class SchubsH {
         return Optional.ofNullable(pq.poll());
     }
 
-    /**
-     * Write the trie to the output stream
-     * 
-     * @param n    node of the trie
-     * @param bout output stream
-     * @throws IOException if an I/O error occurs
-     */
-    private void writeTrie(TrieNode n, Bout bout) throws IOException {
-        if (n.isLeaf()) {
-            bout.writeBit(true);
-            bout.write(n.ch());
-            return;
-        }
-        bout.writeBit(false);
-
-        writeTrie(n.left(), bout);
-        writeTrie(n.right(), bout);
-    }
-
-    /**
-     * Build the code table
-     * 
-     * @param ct code table
-     * @param n  node of the trie
-     * @param s  bitstring
-     */
-    private void buildCode(String[] ct, TrieNode n, String s) {
-        if (!n.isLeaf()) {
-            buildCode(ct, n.left(), s + '0');
-            buildCode(ct, n.right(), s + '1');
-        } else {
-            ct[n.ch()] = s;
-        }
-    }
-
     public static void main(String[] args) {
         try {
+            SchubsH sh = new SchubsH();
+            args = new CommandLine()
+                    .intOption(ParallelCodec.getTHREADS_OPTION(), sh::setThreads)
+                    .intOption(MAX_CODE_LENGTH_OPTION, sh::setMaxCodeLength)
+                    .intOption(BLOCK_OPTION, sh::setBlockSize)
+                    .parse(args);
             validateArgs(args);
 
-            SchubsH sh = new SchubsH();
             for (String arg : args) {
                 sh.compress(arg, StandardOpenOption.CREATE_NEW);
             }
@@ -151,7 +332,8 @@ public class SchubsH {
 
     private static void validateArgs(String[] args) throws IllegalArgumentException {
         if (args.length < 1) {
-            throw new IllegalArgumentException("Usage: java SchubsH <filename> | <GLOB>");
+            throw new IllegalArgumentException("Usage: java SchubsH [--threads <n>] [--max-code-length <bits>] " +
+                    "[--block <bytes>] <filename> | <GLOB>");
         }
         if (Files.isDirectory(Path.of(args[0]))) {
             throw new IllegalArgumentException("Input file is a directory. Use Glob instead: " +
@@ -0,0 +1,333 @@
+/*
+ * Program     : SchubsInputStream
+ * Description : Input stream that decompresses the bytes read through it
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import DataStructures.CanonicalCode;
+import DataStructures.HuffmanTable;
+import IO.Bin;
+import Monitoring.CodecMetrics;
+
+/**
+ * Input stream that decompresses any input stream holding a .ll or .hh file,
+ * such as a request body, decoding only as much as is read. Every format
+ * Deschubs reads is accepted. The blocks of a container written with several
+ * threads are decoded one after the other, each held in memory while it is
+ * read, and their lengths are checked against the container. An LZW stream
+ * that ends before its end codeword is reported as truncated rather than read
+ * as complete. Reading the stream is counted as one operation in the metrics
+ * of Deschubs
+ * <p>
+ * The input is read ahead in blocks of up to 64 KiB, so bytes that follow the
+ * compressed stream in the underlying input stream may be consumed along with
+ * it. Give this class an input stream that holds only the compressed stream,
+ * for example by limiting it to a known length first
+ * <p>
+ * This class shares the unnamed package of Deschubs, whose header and block
+ * decoders it calls, so only code in that package can import it. See
+ * {@link SchubsOutputStream} for how other code can use it
+ *
+ * <pre>
+ * try (InputStream in = new SchubsInputStream(request, SchubsFormat.LZW)) {
+ *     in.transferTo(out);
+ * }
+ * </pre>
+ *
+ * @author Matthias Schrock
+ * @see SchubsOutputStream
+ */
+public class SchubsInputStream extends InputStream {
+    private final SchubsFormat format;
+    private final Counter counter;
+    private final Bin bin;
+    private final boolean container;
+    private final CodecMetrics.Operation op;
+    private InputStream stream;
+    private long raw;
+    private long decoded;
+    private long out;
+    private boolean eof;
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * Read the header of a compressed stream
+     *
+     * @param is     the input stream
+     * @param format the compressed format
+     * @throws IOException if an I/O error occurs or the format is not supported
+     */
+    public SchubsInputStream(InputStream is, SchubsFormat format) throws IOException {
+        this.format = Objects.requireNonNull(format, "format");
+        counter = new Counter(Objects.requireNonNull(is));
+        bin = new Bin(counter);
+
+        int parallel = format == SchubsFormat.LZW
+                ? SchubsL.getHEADER() << Byte.SIZE | SchubsL.getPARALLEL_VERSION()
+                : SchubsH.getMAGIC() << Byte.SIZE | SchubsH.getPARALLEL_VERSION();
+        int bits = format == SchubsFormat.LZW ? 2 * Byte.SIZE : SchubsH.getMAGIC_BITS() + Byte.SIZE;
+        container = bin.peekBits(bits) == parallel;
+        if (container) {
+            bin.skipBits(bits);
+        } else {
+            stream = open(bin);
+        }
+        op = Deschubs.getMETRICS().start();
+    }
+
+    /**
+     * Read the next decompressed byte
+     *
+     * @return the byte, or -1 at the end of the stream
+     * @throws EOFException     if the input is truncated
+     * @throws IOException      if an I/O error occurs or the input is malformed
+     * @throws RuntimeException if the input is not valid LZW
+     */
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    /**
+     * Read decompressed bytes into an array
+     *
+     * @param b   the array
+     * @param off offset of the first byte
+     * @param len maximum number of bytes to read
+     * @return the number of bytes read, or -1 at the end of the stream
+     * @throws EOFException              if the input is truncated
+     * @throws IOException               if an I/O error occurs or the input is
+     *                                   malformed
+     * @throws RuntimeException          if the input is not valid LZW
+     * @throws IndexOutOfBoundsException if off or len is out of range
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (closed) {
+            throw new IOException("Reading from closed compressed stream");
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        try {
+            while (!eof) {
+                if (stream == null && !nextFrame()) {
+                    break;
+                }
+                int k = stream.read(b, off, len);
+                if (k != -1) {
+                    decoded += k;
+                    out += k;
+                    return k;
+                }
+                endStream();
+            }
+            return -1;
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Open the next block of a container
+     *
+     * @return false after the last block
+     * @throws IOException if an I/O error occurs or the container is malformed
+     */
+    private boolean nextFrame() throws IOException {
+        if (!container) {
+            eof = true;
+            return false;
+        }
+
+        raw = bin.readInt();
+        if (raw == 0) {
+            eof = true;
+            return false;
+        }
+        byte[] coded = ParallelCodec.readFrame((int) raw, bin);
+        stream = open(new Bin(new ByteArrayInputStream(coded)));
+        decoded = 0;
+        return true;
+    }
+
+    /**
+     * Close the current stream, checking its length against its frame
+     *
+     * @throws IOException if the stream and its frame disagree
+     */
+    private void endStream() throws IOException {
+        if (stream instanceof LZWInputStream lzw) {
+            Deschubs.record(lzw);
+        }
+        if (container && decoded != raw) {
+            throw new IOException("Invalid block container");
+        }
+        stream = null;
+        if (!container) {
+            eof = true;
+        }
+    }
+
+    /**
+     * Read the header of a single stream and create its decoder
+     *
+     * @param in input stream, at the start of the stream
+     * @return the decoder
+     * @throws IOException if an I/O error occurs or the format is not supported
+     */
+    private InputStream open(Bin in) throws IOException {
+        return format == SchubsFormat.LZW ? Deschubs.decoder(in).requireEnd() : new HuffmanDecoder(in);
+    }
+
+    /**
+     * Close the input stream
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            bin.close();
+        } finally {
+            Deschubs.getMETRICS().addBytes(counter.count, out);
+            if (!failed) {
+                op.succeeded();
+            }
+            op.close();
+        }
+    }
+
+    /**
+     * Decoder of a single Huffman stream, one block at a time
+     */
+    private static class HuffmanDecoder extends InputStream {
+        private final Bin bin;
+        private final boolean blocks;
+        private HuffmanTable table;
+        private long remaining;
+        private boolean eof;
+
+        HuffmanDecoder(Bin bin) throws IOException {
+            this.bin = bin;
+            if (bin.peekBits(SchubsH.getMAGIC_BITS()) != SchubsH.getMAGIC()) {
+                blocks = false;
+                table = new HuffmanTable(Deschubs.readTrie(bin));
+                start(Deschubs.readLegacyLength(bin));
+                return;
+            }
+
+            bin.skipBits(SchubsH.getMAGIC_BITS());
+            int version = bin.readInt(Byte.SIZE);
+            if (version == SchubsH.getSINGLE_VERSION()) {
+                blocks = false;
+                table = new HuffmanTable(CanonicalCode.read(bin).trie());
+                start(Deschubs.readLength(bin));
+            } else if (version == SchubsH.getBLOCK_VERSION()) {
+                blocks = true;
+            } else {
+                throw new IOException("Unsupported Huffman format version " + version);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (remaining == 0) {
+                if (!blocks || eof || !nextBlock()) {
+                    eof = true;
+                    return -1;
+                }
+            }
+
+            int k = (int) Math.min(len, remaining);
+            for (int i = 0; i < k; i++) {
+                b[off + i] = (byte) table.decode(bin);
+            }
+            remaining -= k;
+            return k;
+        }
+
+        /**
+         * Read the header of the next block
+         *
+         * @return false after the empty block that ends the stream
+         * @throws IOException if an I/O error occurs or a block reuses a code
+         *                     before any code was read
+         */
+        private boolean nextBlock() throws IOException {
+            long length = Deschubs.readLength(bin);
+            if (length == 0) {
+                return false;
+            }
+
+            if (!bin.readBit()) {
+                table = new HuffmanTable(CanonicalCode.read(bin).trie());
+            } else if (table == null) {
+                throw new IOException("Invalid Huffman block");
+            }
+            start(length);
+            return true;
+        }
+
+        private void start(long length) {
+            remaining = length;
+            Deschubs.getMETRICS().addCodes(length);
+        }
+    }
+
+    /**
+     * Counts the bytes read from the compressed input
+     */
+    private static class Counter extends FilterInputStream {
+        private long count;
+
+        Counter(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int k = super.read(b, off, len);
+            if (k > 0) {
+                count += k;
+            }
+            return k;
+        }
+    }
+}
\ No newline at end of file
@@ -5,8 +5,8 @@
  * Date        : 04-25-2024
  * Course      : CS375 Software Engineering II
  * Compile     : javac *.java
- * Execute     : Singe File CLI: java SchubsL <filename>
- *               GLOB CLI: java SchubsL <GLOB>
+ * Execute     : Singe File CLI: java SchubsL [--threads <n>] [--max-width <bits>] <filename>
+ *               GLOB CLI: java SchubsL [--threads <n>] [--max-width <bits>] <GLOB>
  */
 
 import java.io.File;
@@ -16,9 +16,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 
-import DataStructures.TST;
 import IO.Bin;
 import IO.Bout;
+import Monitoring.CodecMetrics;
+import Monitoring.CodecPhaseEvent;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -44,6 +45,122 @@ public class SchubsL {
      */
     @Getter
     private static final int W = 12;
+    /**
+     * First byte of a file with a format header. Files without one start with a
+     * codeword of at most R, whose leading 8 bits are at most 0x10
+     */
+    @Getter
+    private static final int HEADER = 0xFF;
+    /**
+     * Format version of a container of independently compressed blocks
+     */
+    @Getter
+    private static final int PARALLEL_VERSION = 2;
+    /**
+     * Format version of a stream of variable width codewords. The header is
+     * followed by the maximum codeword width in 8 bits
+     */
+    @Getter
+    private static final int VARIABLE_VERSION = 3;
+    /**
+     * Format version of a stream of variable width codewords that may reset the
+     * dictionary with clear codewords, with the same header as
+     * {@link #VARIABLE_VERSION}
+     */
+    @Getter
+    private static final int RESET_VERSION = 4;
+    /**
+     * Codeword that empties the dictionary in streams with clear codewords
+     */
+    @Getter
+    private static final int CLEAR = R + 1;
+    /**
+     * Narrowest variable width codeword, enough for the first free code
+     */
+    @Getter
+    private static final int MIN_WIDTH = 9;
+    /**
+     * Widest variable width codeword
+     */
+    @Getter
+    private static final int MAX_WIDTH = 20;
+    /**
+     * Command line option giving the maximum codeword width
+     */
+    @Getter
+    private static final String MAX_WIDTH_OPTION = "--max-width";
+    private static final String CODEC = "SchubsL";
+    /**
+     * Metrics of every LZW compression, of files and of streams
+     */
+    @Getter
+    private static final CodecMetrics METRICS = CodecMetrics.of(CODEC);
+
+    /**
+     * Number of threads compressing blocks of the input
+     */
+    @Getter
+    private int threads = 1;
+    /**
+     * Maximum width of variable width codewords, or 0 for fixed width codewords
+     */
+    @Getter
+    private int maxWidth;
+
+    /**
+     * Compress with several threads. With more than one thread the input is cut
+     * into blocks that are compressed independently and written to a container
+     * 
+     * @param threads the number of threads, at least 1
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public void setThreads(int threads) {
+        ParallelCodec.checkThreads(threads);
+        this.threads = threads;
+    }
+
+    /**
+     * Write variable width codewords. Codewords start at 9 bits and widen as the
+     * dictionary grows, up to maxWidth bits and 2^maxWidth codes, so small
+     * inputs cost fewer bits per codeword and large inputs keep finding new
+     * strings for longer. Once the dictionary is full, it is reset whenever the
+     * compression ratio drops, so long inputs whose content drifts keep
+     * compressing well in the same memory
+     * 
+     * @param maxWidth the widest codeword, from 9 to 20 bits
+     * @throws IllegalArgumentException if maxWidth is out of range
+     */
+    public void setMaxWidth(int maxWidth) {
+        this.maxWidth = checkMaxWidth(maxWidth);
+    }
+
+    /**
+     * Check a maximum codeword width
+     * 
+     * @param maxWidth the widest codeword
+     * @return maxWidth
+     * @throws IllegalArgumentException if maxWidth is not from 9 to 20 bits
+     */
+    public static int checkMaxWidth(int maxWidth) {
+        if (maxWidth < MIN_WIDTH || maxWidth > MAX_WIDTH) {
+            throw new IllegalArgumentException("Codeword width must be from " + MIN_WIDTH + " to " + MAX_WIDTH
+                    + " bits: " + maxWidth);
+        }
+        return maxWidth;
+    }
+
+    /**
+     * Width of a variable width codeword. Encoder and decoder both derive it from
+     * the code the decoder may be about to add, which is the largest codeword it
+     * can read next
+     * 
+     * @param limit    the code the decoder may be about to add
+     * @param capacity the number of codes in the dictionary
+     * @return the number of bits in the codeword
+     */
+    static int width(int limit, int capacity) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(Math.min(limit, capacity - 1));
+    }
 
     /**
      * Compress a file using LZW to filename.ll
@@ -55,7 +172,7 @@ public class SchubsL {
     public void compress(String fnm, StandardOpenOption... stdOpen) throws IOException {
         try (Bin bin = new Bin(fnm);
                 Bout bout = new Bout(fnm + ".ll", stdOpen)) {
-            LZWAlgorithm(bin, bout);
+            compress(bin, bout);
         }
     }
 
@@ -70,45 +187,108 @@ public class SchubsL {
     public void compress(String fnm, InputStream is, StandardOpenOption... stdOpen) throws IOException {
         try (Bin bin = new Bin(is);
                 Bout bout = new Bout(fnm, stdOpen)) {
-            LZWAlgorithm(bin, bout);
+            compress(bin, bout);
         }
     }
 
     /**
-     * LZW compression algorithm
+     * Compress a stream as plain LZW, or as a container of blocks when using more
+     * than one thread. The operation is counted in the SchubsL metrics
      * 
      * @param bin  the input stream
      * @param bout the output stream
      * @throws IOException if an I/O error occurs
+     * @see CodecMetrics
      */
-    private void LZWAlgorithm(Bin bin, Bout bout) throws IOException {
-        TST<Integer> st = new TST<>();
-        for (int i = 0; i < R; i++) {
-            String s = "" + (char) i;
-            st.put(s, i);
+    private void compress(Bin bin, Bout bout) throws IOException {
+        try (CodecMetrics.Operation op = METRICS.start()) {
+            if (threads == 1) {
+                LZWAlgorithm(bin, bout);
+            } else {
+                bout.writeBits(HEADER, Byte.SIZE);
+                bout.writeBits(PARALLEL_VERSION, Byte.SIZE);
+                new ParallelCodec(threads).compress(bin, bout, this::LZWAlgorithm);
+            }
+            METRICS.addBytes(0, bout.position());
+            op.succeeded();
         }
+    }
 
-        int code = R + 1;
-        String input = bin.readString();
+    /**
+     * LZW compression algorithm. The input is pushed one symbol at a time through
+     * an encoder that walks the dictionary from the current match, so memory
+     * stays bounded by the dictionary regardless of the input size. Variable
+     * width streams start with their own header, so each block of a container
+     * carries its width as well. Each stream is an encode phase event, which
+     * measures the time spent reading the input when it is recorded
+     * 
+     * @param bin  the input stream
+     * @param bout the output stream
+     * @throws IOException if an I/O error occurs
+     * @see LZWOutputStream
+     * @see CodecPhaseEvent
+     */
+    private void LZWAlgorithm(Bin bin, Bout bout) throws IOException {
+        CodecPhaseEvent event = CodecPhaseEvent.start(CODEC, "encode");
+        long start = bout.position();
+        LZWOutputStream lzw = encoder(bout);
+        byte[] buf = new byte[Bout.getBUFFER_SIZE()];
+        long n = 0;
+        int len;
+        long t = event.now();
+        while ((len = bin.read(buf, 0, buf.length)) != -1) {
+            event.addInputTime(t);
+            lzw.write(buf, 0, len);
+            n += len;
+            t = event.now();
+        }
+        event.addInputTime(t);
+        lzw.finish();
+        event.end(n, bout.position() - start);
+        record(lzw, n);
+    }
 
-        while (!input.isEmpty()) {
-            String s = st.longestPrefix(input);
-            bout.write(st.get(s), W);
-            int t = s.length();
-            if (t < input.length() && code < L) {
-                st.put(input.substring(0, t + 1), code++);
-            }
-            input = input.substring(t);
+    /**
+     * Start a stream with these settings: write the header of a variable width
+     * stream, if any, and create the encoder of its codewords
+     * 
+     * @param bout the output stream
+     * @return the encoder
+     * @throws IOException if an I/O error occurs
+     */
+    LZWOutputStream encoder(Bout bout) throws IOException {
+        if (maxWidth == 0) {
+            return new LZWOutputStream(bout);
         }
 
-        bout.write(R, W);
+        bout.writeBits(HEADER, Byte.SIZE);
+        bout.writeBits(RESET_VERSION, Byte.SIZE);
+        bout.writeBits(maxWidth, Byte.SIZE);
+        return new LZWOutputStream(bout, maxWidth, true);
+    }
+
+    /**
+     * Add the input, codewords and dictionary of a finished encoder to the
+     * metrics
+     * 
+     * @param lzw the encoder
+     * @param n   number of bytes it encoded
+     */
+    static void record(LZWOutputStream lzw, long n) {
+        METRICS.addBytes(n, 0);
+        METRICS.addCodes(lzw.getCodes());
+        METRICS.dictionary(lzw.getDictionarySize(), lzw.getDictionaryCapacity(), lzw.getResets());
     }
 
     public static void main(String[] args) {
         try {
+            SchubsL schubsL = new SchubsL();
+            args = new CommandLine()
+                    .intOption(ParallelCodec.getTHREADS_OPTION(), schubsL::setThreads)
+                    .intOption(MAX_WIDTH_OPTION, schubsL::setMaxWidth)
+                    .parse(args);
             validateArgs(args);
 
-            SchubsL schubsL = new SchubsL();
             for (String arg : args) {
                 schubsL.compress(arg, StandardOpenOption.CREATE_NEW);
             }
@@ -119,7 +299,7 @@ public class SchubsL {
 
     private static void validateArgs(String[] args) {
         if (args.length == 0) {
-            throw new IllegalArgumentException("Usage: java SchubsL <filename> | <GLOB>");
+            throw new IllegalArgumentException("Usage: java SchubsL [--threads <n>] [--max-width <bits>] <filename> | <GLOB>");
         }
         if (Files.isDirectory(Path.of(args[0]))) {
             throw new IllegalArgumentException("Input file is a directory. Use Glob instead: " +
@@ -0,0 +1,225 @@
+/*
+ * Program     : SchubsOutputStream
+ * Description : Output stream that compresses the bytes written to it
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : javac *.java
+ * Execute     : N/A
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import DataStructures.CanonicalCode;
+import IO.Bout;
+import Monitoring.CodecMetrics;
+
+/**
+ * Output stream that compresses the bytes written to it into any output
+ * stream, such as a response body or a log file, in the format of a .ll or .hh
+ * file. LZW codewords are written as soon as a match ends. Huffman input is
+ * held until a block fills, since a block's code depends on all of its bytes,
+ * so memory is bounded by the block size. {@link #flush()} passes on every
+ * whole byte coded so far, and {@link #finish()} or {@link #close()} ends the
+ * compressed stream. The output is always a single stream, whatever number of
+ * threads the settings give, and is counted as one operation in the metrics of
+ * SchubsL or SchubsH
+ * <p>
+ * Like the codecs it wraps, this class is in the unnamed package, which code
+ * in a named package cannot import. Such code has to be compiled together with
+ * these sources into the unnamed package, or reach the class through
+ * reflection, until the codecs themselves move into a package
+ *
+ * <pre>
+ * try (OutputStream out = new SchubsOutputStream(response, SchubsFormat.LZW)) {
+ *     out.write(body);
+ * }
+ * </pre>
+ *
+ * @author Matthias Schrock
+ * @see SchubsInputStream
+ */
+public class SchubsOutputStream extends OutputStream {
+    private final Bout bout;
+    private final CodecMetrics metrics;
+    private final CodecMetrics.Operation op;
+    private final LZWOutputStream lzw;
+    private final SchubsH huffman;
+    private final byte[] block;
+    private int n;
+    private CanonicalCode prev;
+    private long in;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Compress with the default settings of a format
+     *
+     * @param os     the output stream
+     * @param format the compressed format
+     * @throws IOException          if an I/O error occurs
+     * @throws NullPointerException if format is null
+     */
+    public SchubsOutputStream(OutputStream os, SchubsFormat format) throws IOException {
+        this(os, Objects.requireNonNull(format, "format") == SchubsFormat.LZW ? new SchubsL() : null,
+                format == SchubsFormat.HUFFMAN ? new SchubsH() : null);
+    }
+
+    /**
+     * Compress with LZW, using the codeword width of a SchubsL
+     *
+     * @param os      the output stream
+     * @param schubsL the settings
+     * @throws IOException if an I/O error occurs
+     */
+    public SchubsOutputStream(OutputStream os, SchubsL schubsL) throws IOException {
+        this(os, Objects.requireNonNull(schubsL), null);
+    }
+
+    /**
+     * Compress with Huffman, using the block size and code length of a SchubsH
+     *
+     * @param os      the output stream
+     * @param schubsH the settings
+     * @throws IOException if an I/O error occurs
+     */
+    public SchubsOutputStream(OutputStream os, SchubsH schubsH) throws IOException {
+        this(os, null, Objects.requireNonNull(schubsH));
+    }
+
+    private SchubsOutputStream(OutputStream os, SchubsL schubsL, SchubsH schubsH) throws IOException {
+        bout = new Bout(Objects.requireNonNull(os));
+        huffman = schubsH;
+        if (schubsL != null) {
+            metrics = SchubsL.getMETRICS();
+            lzw = schubsL.encoder(bout);
+            block = null;
+        } else {
+            metrics = SchubsH.getMETRICS();
+            lzw = null;
+            block = new byte[schubsH.getBlockSize()];
+            bout.writeBits(SchubsH.getMAGIC(), SchubsH.getMAGIC_BITS());
+            bout.writeBits(SchubsH.getBLOCK_VERSION(), Byte.SIZE);
+        }
+        op = metrics.start();
+    }
+
+    /**
+     * Compress one byte
+     *
+     * @param b the byte, in the low 8 bits
+     * @throws IOException if an I/O error occurs or the stream is finished
+     */
+    @Override
+    public void write(int b) throws IOException {
+        checkOpen();
+        if (lzw != null) {
+            lzw.write(b);
+        } else {
+            block[n++] = (byte) b;
+            if (n == block.length) {
+                writeBlock();
+            }
+        }
+        in++;
+    }
+
+    /**
+     * Compress a run of bytes
+     *
+     * @param b   the bytes
+     * @param off offset of the first byte
+     * @param len number of bytes
+     * @throws IOException               if an I/O error occurs or the stream is
+     *                                   finished
+     * @throws IndexOutOfBoundsException if off or len is out of range
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        checkOpen();
+        if (lzw != null) {
+            lzw.write(b, off, len);
+        } else {
+            for (int i = 0, k; i < len; i += k) {
+                k = Math.min(len - i, block.length - n);
+                System.arraycopy(b, off + i, block, n, k);
+                n += k;
+                if (n == block.length) {
+                    writeBlock();
+                }
+            }
+        }
+        in += len;
+    }
+
+    /**
+     * Write every whole byte compressed so far to the output stream and flush
+     * it. Bytes of a Huffman block that is not full yet are not coded until it
+     * fills or the stream is finished
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        bout.flushBytes();
+    }
+
+    /**
+     * End the compressed stream and flush the output stream, leaving it open
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+
+        finished = true;
+        if (lzw != null) {
+            lzw.finish();
+            SchubsL.record(lzw, in);
+        } else {
+            if (n > 0) {
+                writeBlock();
+            }
+            SchubsH.writeLength(0, bout);
+        }
+        bout.flush();
+        metrics.addBytes(0, bout.position());
+        op.succeeded();
+    }
+
+    /**
+     * Finish the compressed stream and close the output stream
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            finish();
+            bout.close();
+        } finally {
+            op.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        prev = huffman.writeBlock(block, n, prev, bout);
+        n = 0;
+    }
+
+    private void checkOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Writing to finished compressed stream");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Program     : ArchiveEntryTest
+ * Description : Test central directory entry of an indexed archive
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import IO.Bin;
+import IO.Bout;
+
+public class ArchiveEntryTest {
+    @Test
+    public void testWriteAndRead() throws IOException {
+        ArchiveEntry expected = new ArchiveEntry("dir/Bl\u00e9e \u6587.txt", 2, 17, 14, ArchiveEntry.LZW);
+        byte[] bytes = write(expected);
+
+        // Name length, UTF-8 name, three longs and the codec
+        assertEquals(2 + 17 + 3 * Long.BYTES + 1, bytes.length);
+        try (Bin bin = new Bin(new ByteArrayInputStream(bytes))) {
+            assertEquals(expected, ArchiveEntry.read(bin));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadUnknownCodec() throws IOException {
+        byte[] bytes = write(new ArchiveEntry("Blee.txt", 2, 17, 14, 99));
+        try (Bin bin = new Bin(new ByteArrayInputStream(bytes))) {
+            ArchiveEntry.read(bin);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadNegativeOffset() throws IOException {
+        byte[] bytes = write(new ArchiveEntry("Blee.txt", -1, 17, 14, ArchiveEntry.LZW));
+        try (Bin bin = new Bin(new ByteArrayInputStream(bytes))) {
+            ArchiveEntry.read(bin);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadStoredSizeMismatch() throws IOException {
+        byte[] bytes = write(new ArchiveEntry("Blee.txt", 2, 17, 14, ArchiveEntry.STORED));
+        try (Bin bin = new Bin(new ByteArrayInputStream(bytes))) {
+            ArchiveEntry.read(bin);
+        }
+    }
+
+    private byte[] write(ArchiveEntry entry) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Bout bout = new Bout(baos)) {
+            entry.write(bout);
+        }
+        return baos.toByteArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+/*
+ * Program     : CommandLineTest
+ * Description : Test parse the options and file names of a command line
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CommandLineTest {
+    @Test
+    public void testParse() {
+        List<String> applied = new ArrayList<>();
+        boolean[] flag = new boolean[1];
+        String[] files = new CommandLine()
+                .intOption("--threads", n -> applied.add("threads " + n))
+                .option("--member", name -> applied.add("member " + name))
+                .flag("--list", () -> flag[0] = true)
+                .parse(new String[] { "a.txt", "--threads", "8", "b.txt", "--list", "--member", "c" });
+
+        assertArrayEquals(new String[] { "a.txt", "b.txt" }, files);
+        assertEquals(List.of("threads 8", "member c"), applied);
+        assertTrue(flag[0]);
+    }
+
+    @Test
+    public void testNoOptions() {
+        assertArrayEquals(new String[] { "a.txt" }, new CommandLine().parse(new String[] { "a.txt" }));
+    }
+
+    @Test
+    public void testEndOfOptions() {
+        String[] files = new CommandLine()
+                .intOption("--threads", n -> {
+                })
+                .parse(new String[] { "--threads", "2", "--", "--threads", "a.txt" });
+
+        assertArrayEquals(new String[] { "--threads", "a.txt" }, files);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownOption() {
+        new CommandLine().parse(new String[] { "a.txt", "--block", "1024" });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingValue() {
+        new CommandLine().intOption("--threads", n -> {
+        }).parse(new String[] { "a.txt", "--threads" });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidValue() {
+        new CommandLine().intOption("--threads", n -> {
+        }).parse(new String[] { "--threads", "none", "a.txt" });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package DataStructures;
+
+/*
+ * Program     : CanonicalCodeTest
+ * Description : Test canonical Huffman code described only by its code lengths
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import IO.Bin;
+import IO.Bout;
+
+public class CanonicalCodeTest {
+    @Test
+    public void testOf() {
+        // c = 0, a = 10, b = 11 regardless of how the trie was shaped
+        TrieNode root = node(node(leaf('a'), leaf('b')), leaf('c'));
+        CanonicalCode code = CanonicalCode.of(root);
+
+        assertEquals(2, code.maxLength());
+        assertEquals(1, code.length('c'));
+        assertEquals(0b0, code.code('c'));
+        assertEquals(2, code.length('a'));
+        assertEquals(0b10, code.code('a'));
+        assertEquals(2, code.length('b'));
+        assertEquals(0b11, code.code('b'));
+        assertEquals(0, code.length('d'));
+    }
+
+    @Test
+    public void testSingleSymbol() throws IOException {
+        CanonicalCode code = roundTrip(CanonicalCode.of(leaf('a')));
+
+        assertEquals(0, code.maxLength());
+        assertEquals(0, code.length('a'));
+        assertTrue(code.trie().isLeaf());
+        assertEquals('a', code.trie().ch());
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        TrieNode root = node(leaf('z'), node(node(leaf('\0'), leaf((char) 255)), leaf('a')));
+        CanonicalCode expected = CanonicalCode.of(root);
+        CanonicalCode actual = roundTrip(expected);
+
+        assertEquals(expected.maxLength(), actual.maxLength());
+        for (int c = 0; c < 256; c++) {
+            assertEquals(expected.length(c), actual.length(c));
+            assertEquals(expected.code(c), actual.code(c));
+        }
+    }
+
+    @Test
+    public void testTrie() {
+        TrieNode root = node(leaf('z'), node(node(leaf('x'), leaf('y')), leaf('a')));
+        CanonicalCode code = CanonicalCode.of(root);
+        TrieNode trie = code.trie();
+
+        for (char c : "axyz".toCharArray()) {
+            TrieNode n = trie;
+            for (int i = code.length(c) - 1; i >= 0; i--) {
+                n = ((code.code(c) >>> i) & 1) == 0 ? n.left() : n.right();
+            }
+            assertTrue(n.isLeaf());
+            assertEquals(c, n.ch());
+        }
+    }
+
+    @Test
+    public void testMaxLength() {
+        // Chain where symbol i has length i + 1 and the last two share length 24
+        TrieNode root = leaf((char) 24);
+        for (int i = 23; i >= 0; i--) {
+            root = node(leaf((char) i), root);
+        }
+        CanonicalCode code = CanonicalCode.of(root, 8);
+
+        assertEquals(8, code.maxLength());
+        double kraft = 0;
+        for (int c = 0; c <= 24; c++) {
+            assertTrue(code.length(c) >= 1 && code.length(c) <= 8);
+            if (c > 0) {
+                assertTrue(code.length(c - 1) <= code.length(c));
+            }
+            kraft += Math.pow(2, -code.length(c));
+        }
+        assertEquals(1.0, kraft, 0);
+    }
+
+    @Test
+    public void testMaxLengthNotReached() {
+        TrieNode root = node(node(leaf('a'), leaf('b')), leaf('c'));
+        CanonicalCode code = CanonicalCode.of(root, 8);
+
+        assertEquals(2, code.maxLength());
+        assertEquals(1, code.length('c'));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxLengthTooShort() {
+        CanonicalCode.of(leaf('a'), 7);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadDuplicateSymbol() throws IOException {
+        // Max length 1, two symbols: \0 then a gap of 0 is not a valid gamma code
+        try (Bin bin = new Bin(new ByteArrayInputStream(new byte[] { 1, 1, -128, 0, 0 }))) {
+            CanonicalCode.read(bin);
+        }
+    }
+
+    @Test
+    public void testCost() {
+        // c = 0, a = 10, b = 11
+        CanonicalCode code = CanonicalCode.of(node(node(leaf('a'), leaf('b')), leaf('c')));
+        int[] freq = new int[256];
+        freq['a'] = 3;
+        freq['c'] = 5;
+
+        assertEquals(3 * 2 + 5 * 1, code.cost(freq));
+        freq['d'] = 1;
+        assertEquals(-1, code.cost(freq));
+    }
+
+    @Test
+    public void testCostSingleSymbol() {
+        CanonicalCode code = CanonicalCode.of(leaf('a'));
+        int[] freq = new int[256];
+        freq['a'] = 7;
+
+        assertEquals(0, code.cost(freq));
+        freq['b'] = 1;
+        assertEquals(-1, code.cost(freq));
+    }
+
+    @Test
+    public void testTableBits() throws IOException {
+        TrieNode root = node(leaf('z'), node(node(leaf('\0'), leaf((char) 255)), leaf('a')));
+        for (CanonicalCode code : new CanonicalCode[] { CanonicalCode.of(root), CanonicalCode.of(leaf('a')) }) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (Bout bout = new Bout(baos)) {
+                code.write(bout);
+            }
+            assertEquals((code.tableBits() + 7) / 8, baos.size());
+        }
+    }
+
+    private CanonicalCode roundTrip(CanonicalCode code) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Bout bout = new Bout(baos)) {
+            code.write(bout);
+        }
+        try (Bin bin = new Bin(new ByteArrayInputStream(baos.toByteArray()))) {
+            return CanonicalCode.read(bin);
+        }
+    }
+
+    private TrieNode leaf(char c) {
+        return new TrieNode(c, -1, null, null);
+    }
+
+    private TrieNode node(TrieNode left, TrieNode right) {
+        return new TrieNode('\0', -1, left, right);
+    }
+}
@@ -0,0 +1,63 @@
+package DataStructures;
+
+/*
+ * Program     : HistogramTest
+ * Description : Test count the occurrences of each byte value in an array
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HistogramTest {
+    @Test
+    public void testOf() {
+        byte[] data = { 'a', 'b', 'a', (byte) 0xFF, 0, 'a', (byte) 0x80 };
+        int[] expected = new int[256];
+        expected['a'] = 3;
+        expected['b'] = 1;
+        expected[0xFF] = 1;
+        expected[0] = 1;
+        expected[0x80] = 1;
+
+        assertArrayEquals(expected, Histogram.of(data, 0, data.length));
+    }
+
+    @Test
+    public void testOfRange() {
+        byte[] data = { 'a', 'b', 'c', 'd', 'e', 'f' };
+        int[] expected = new int[256];
+        expected['c'] = 1;
+        expected['d'] = 1;
+
+        assertArrayEquals(expected, Histogram.of(data, 2, 4));
+        assertArrayEquals(new int[256], Histogram.of(data, 3, 3));
+    }
+
+    @Test
+    public void testOfSplit() {
+        // Long enough, and of an odd length, to be split into several tasks
+        byte[] data = new byte[5 * (1 << 20) + 3];
+        new Random(375).nextBytes(data);
+        int[] expected = new int[256];
+        for (byte b : data) {
+            expected[b & 0xff]++;
+        }
+
+        assertArrayEquals(expected, Histogram.of(data, 0, data.length));
+        expected[data[0] & 0xff]--;
+        assertArrayEquals(expected, Histogram.of(data, 1, data.length));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOfOutOfRange() {
+        Histogram.of(new byte[4], 2, 5);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package DataStructures;
+
+/*
+ * Program     : HuffmanTableTest
+ * Description : Test lookup tables for decoding Huffman codes several bits at a time
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import IO.Bin;
+import IO.Bout;
+
+public class HuffmanTableTest {
+    @Test
+    public void testDecodeShortCodes() throws IOException {
+        // a = 0, b = 10, c = 11
+        TrieNode root = node(leaf('a'), node(leaf('b'), leaf('c')));
+        HuffmanTable table = new HuffmanTable(root);
+
+        try (Bin bin = bits("0", "11", "10", "0", "0")) {
+            assertEquals('a', table.decode(bin));
+            assertEquals('c', table.decode(bin));
+            assertEquals('b', table.decode(bin));
+            assertEquals('a', table.decode(bin));
+            assertEquals('a', table.decode(bin));
+        }
+    }
+
+    @Test
+    public void testDecodeLongCodes() throws IOException {
+        // Left-leaning chain: symbol i has code 1^i 0, the last symbol 1^24
+        TrieNode root = leaf((char) 24);
+        for (int i = 23; i >= 0; i--) {
+            root = node(leaf((char) i), root);
+        }
+        HuffmanTable table = new HuffmanTable(root);
+
+        String[] codes = new String[25];
+        for (int i = 0; i < 24; i++) {
+            codes[i] = "1".repeat(i) + "0";
+        }
+        codes[24] = "1".repeat(24);
+
+        try (Bin bin = bits(codes[24], codes[0], codes[11], codes[23], codes[10], codes[24])) {
+            assertEquals(24, table.decode(bin));
+            assertEquals(0, table.decode(bin));
+            assertEquals(11, table.decode(bin));
+            assertEquals(23, table.decode(bin));
+            assertEquals(10, table.decode(bin));
+            assertEquals(24, table.decode(bin));
+        }
+    }
+
+    @Test
+    public void testDecodeSingleLeaf() throws IOException {
+        HuffmanTable table = new HuffmanTable(leaf('a'));
+
+        try (Bin bin = bits()) {
+            assertEquals('a', table.decode(bin));
+            assertTrue(bin.isEmpty());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecodeTruncatedCode() throws IOException {
+        TrieNode root = node(leaf('a'), node(leaf('b'), leaf('c')));
+        HuffmanTable table = new HuffmanTable(root);
+
+        // The last bit 1 padded with zeros peeks as the code for b, which is longer
+        // than the remaining input
+        try (Bin bin = bits("0000000", "1")) {
+            bin.readInt(7);
+            table.decode(bin);
+        }
+    }
+
+    private TrieNode leaf(char c) {
+        return new TrieNode(c, -1, null, null);
+    }
+
+    private TrieNode node(TrieNode left, TrieNode right) {
+        return new TrieNode('\0', -1, left, right);
+    }
+
+    private Bin bits(String... codes) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Bout bout = new Bout(baos)) {
+            for (String code : codes) {
+                for (char c : code.toCharArray()) {
+                    bout.writeBit(c == '1');
+                }
+            }
+        }
+        return new Bin(new ByteArrayInputStream(baos.toByteArray()));
+    }
+}
@@ -0,0 +1,83 @@
+package DataStructures;
+
+/*
+ * Program     : LZWDictionaryTest
+ * Description : Test primitive open-addressing hash table for LZW codewords
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LZWDictionaryTest {
+    private LZWDictionary st;
+
+    @Before
+    public void setUp() {
+        st = new LZWDictionary(4096);
+    }
+
+    @Test
+    public void testGetMissing() {
+        assertEquals(-1, st.get('b', 'l'));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        st.put('b', 'l', 257);
+        st.put(257, 'e', 258);
+
+        assertEquals(257, st.get('b', 'l'));
+        assertEquals(258, st.get(257, 'e'));
+        assertEquals(-1, st.get('l', 'b'));
+        assertEquals(2, st.size());
+    }
+
+    @Test
+    public void testPutOverwrites() {
+        st.put('b', 'l', 257);
+        st.put('b', 'l', 300);
+
+        assertEquals(300, st.get('b', 'l'));
+        assertEquals(1, st.size());
+    }
+
+    @Test
+    public void testFill() {
+        for (int code = 0; code < 4096; code++) {
+            st.put(code, code & 0xff, code + 1);
+        }
+
+        for (int code = 0; code < 4096; code++) {
+            assertEquals(code + 1, st.get(code, code & 0xff));
+        }
+        assertEquals(4096, st.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPutWhenFull() {
+        LZWDictionary small = new LZWDictionary(1);
+        small.put('b', 'l', 257);
+        small.put('l', 'e', 258);
+    }
+
+    @Test
+    public void testClear() {
+        st.put('b', 'l', 257);
+        st.clear();
+
+        assertEquals(-1, st.get('b', 'l'));
+        assertEquals(0, st.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalCapacity() {
+        new LZWDictionary(0);
+    }
+}
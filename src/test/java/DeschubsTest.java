@@ -9,6 +9,7 @@
  * Execute     : mvn test
  */
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -19,11 +20,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import IO.Bout;
+
 public class DeschubsTest {
     private Path dir;
     private final PrintStream originalErr = System.err;
@@ -76,6 +81,146 @@ public class DeschubsTest {
         new Deschubs().unarchive(archive.toString(), StandardOpenOption.CREATE_NEW);
     }
 
+    @Test(expected = RuntimeException.class)
+    public void testImproperLZWCodeword() throws IOException {
+        // 12-bit codewords 'a' then 300, which has not been defined yet
+        Path ll = dir.resolve("Improper.txt.ll");
+        Files.write(ll, new byte[] { 0x06, 0x11, 0x2C });
+
+        new Deschubs().deLZW(ll.toString());
+    }
+
+    @Test
+    public void testDeLZWVariableWidthFormat() throws IOException {
+        // Variable width streams without clear codewords
+        Path ll = dir.resolve("Variable.txt.ll");
+        byte[] text = "Blee\nBlah\nBlue".repeat(100).getBytes();
+        try (Bout bout = new Bout(ll.toString());
+                LZWOutputStream lzw = new LZWOutputStream(bout, 10)) {
+            bout.writeBits(SchubsL.getHEADER(), 8);
+            bout.writeBits(SchubsL.getVARIABLE_VERSION(), 8);
+            bout.writeBits(10, 8);
+            lzw.write(text);
+        }
+
+        new Deschubs().deLZW(ll.toString());
+        assertArrayEquals(text, Files.readAllBytes(dir.resolve("Variable.txt")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDeLZWUnsupportedWidth() throws IOException {
+        Path ll = dir.resolve("Width.txt.ll");
+        Files.write(ll, new byte[] { -1, 3, 21, 0x30, (byte) 0xC0, 0 });
+
+        new Deschubs().deLZW(ll.toString());
+    }
+
+    @Test
+    public void testDeHuffmanLegacyFormat() throws IOException {
+        // Files written before canonical codes serialize the trie itself
+        Map<String, byte[]> legacy = new HashMap<>();
+        legacy.put("Blee\nBlah\nBlue",
+                new byte[] { 44, -74, -59, 8, -80, -38, 23, 88, 80, 0, 0, 0, 116, -121, -50, 111, -49, 0 });
+        legacy.put("", new byte[] { -128, 0, 0, 0, 0, 0 });
+        legacy.put("Supercalifragilisticexpialidocious",
+                new byte[] { 45, 37, -51, 103, -70, 46, -74, 81, 111, -72, 23, -117, 53,
+                        -56, 84, -20, -106, 21, -78, -58, 0, 0, 0, 69, -122, -105, -65, -34,
+                        43, 122, -93, -124, 89, -17, 73, 55, -116, -57, -112, -56 });
+
+        Path legacyText = dir.resolve("Legacy.txt");
+        for (Map.Entry<String, byte[]> entry : legacy.entrySet()) {
+            Files.write(Path.of(legacyText + ".hh"), entry.getValue());
+            new Deschubs().deHuffman(legacyText + ".hh");
+            assertArrayEquals(entry.getKey().getBytes(), Files.readAllBytes(legacyText));
+        }
+    }
+
+    @Test
+    public void testDeHuffmanSingleCodeFormat() throws IOException {
+        // Version 2 files code the whole input with one canonical code
+        Path single = dir.resolve("Single.txt");
+        Files.write(Path.of(single + ".hh"),
+                new byte[] { 64, 32, 0, 2, 4, 6, 23, -125, -124, 63, -111, 121, 17, 56, -100, 75, -123, -67,
+                        -123, -24 });
+
+        new Deschubs().deHuffman(single + ".hh");
+        assertArrayEquals("Blee\nBlah\nBlue".getBytes(), Files.readAllBytes(single));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDeHuffmanReuseWithoutCode() throws IOException {
+        // A one byte first block that claims to reuse the previous block's code
+        Path hh = dir.resolve("Reuse.txt.hh");
+        Files.write(hh, new byte[] { 64, 32, 0, 3, 7 });
+
+        new Deschubs().deHuffman(hh.toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void testDeHuffmanUnsupportedVersion() throws IOException {
+        Path hh = dir.resolve("Unsupported.txt.hh");
+        Files.write(hh, new byte[] { 64, 32, 0, 99, 0, 0, 0 });
+
+        new Deschubs().deHuffman(hh.toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void testDeHuffmanIncompleteCode() throws IOException {
+        // Max length 2 with two symbols of length 2 leaves half the code space unused
+        Path hh = dir.resolve("Incomplete.txt.hh");
+        Files.write(hh, new byte[] { 64, 32, 0, 2, 2, 1, -16, 0 });
+
+        new Deschubs().deHuffman(hh.toString());
+    }
+
+    @Test
+    public void testUnarchiveLegacyFormat() throws IOException {
+        // Archives written before the central directory are one LZW stream over a
+        // tar of [name length][sep][name][sep][size][sep][contents] separated by sep
+        Path blee = dir.resolve("Blee.txt");
+        Path blah = dir.resolve("Blah.txt");
+        Path archive = dir.resolve("Legacy.zl");
+        try (Bout tar = new Bout(new LZWOutputStream(new Bout(archive.toString())))) {
+            tar(tar, blee.toString(), "Blee");
+            tar.write(SchubsArc.getSep());
+            tar(tar, blah.toString(), "Blah");
+        }
+        Files.deleteIfExists(blee);
+        Files.deleteIfExists(blah);
+
+        new Deschubs().unarchive(archive.toString());
+        assertArrayEquals("Blee".getBytes(), Files.readAllBytes(blee));
+        assertArrayEquals("Blah".getBytes(), Files.readAllBytes(blah));
+    }
+
+    @Test(expected = IOException.class)
+    public void testListLegacyFormat() throws IOException {
+        Path archive = dir.resolve("Legacy.zl");
+        try (Bout tar = new Bout(new LZWOutputStream(new Bout(archive.toString())))) {
+            tar(tar, dir.resolve("Blee.txt").toString(), "Blee");
+        }
+
+        new Deschubs().list(archive.toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void testListTruncatedArchive() throws IOException {
+        Path archive = dir.resolve("Truncated.zl");
+        Files.write(archive, new byte[] { -1, 2, 0, 0, 0, 0, 0, 0, 0, 2, -1 });
+
+        new Deschubs().list(archive.toString());
+    }
+
+    private void tar(Bout tar, String name, String contents) throws IOException {
+        tar.write(name.length());
+        tar.write(SchubsArc.getSep());
+        tar.write(name);
+        tar.write(SchubsArc.getSep());
+        tar.write((long) contents.length());
+        tar.write(SchubsArc.getSep());
+        tar.write(contents);
+    }
+
     private void assertHasErrorMessage() {
         assertTrue(newErr.size() > 0);
     }
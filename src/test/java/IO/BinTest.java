@@ -6,6 +6,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -70,6 +71,19 @@ public class BinTest {
         assertArrayEquals(BLEE.getBytes(), bin.readAllBytes());
     }
 
+    @Test
+    public void testReadAllBytesBinary() throws IOException {
+        // Bytes of 0x80 and above are not characters in most charsets
+        byte[] data = new byte[512];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        try (Bin in = new Bin(new ByteArrayInputStream(data))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
     @Test
     public void testReadChar() throws IOException {
         int i = 0;
@@ -155,4 +169,148 @@ public class BinTest {
             }
         }
     }
+
+    @Test
+    public void testReadIntUnaligned() throws IOException {
+        // "Bl" = 01000010 01101100
+        bin.readInt(3);
+        assertEquals(0b00010011, bin.readInt(8));
+        assertEquals(0b01100, bin.readInt(5));
+    }
+
+    @Test
+    public void testPeekBits() throws IOException {
+        // "B" = 01000010
+        assertEquals(0b0100, bin.peekBits(4));
+        assertEquals(0b0100, bin.peekBits(4));
+        assertEquals('B', bin.readChar());
+    }
+
+    @Test
+    public void testSkipBits() throws IOException {
+        bin.skipBits(4);
+        assertEquals(0b0010, bin.readInt(4));
+        assertEquals('l', bin.readChar());
+    }
+
+    @Test
+    public void testPeekBitsPastEnd() throws IOException {
+        for (int i = 0; i < BLEE.length() - 1; i++) {
+            bin.skipBits(8);
+        }
+        bin.skipBits(4);
+        // "e" = 01100101, the last 4 bits padded with zeros
+        assertEquals(0b01010000, bin.peekBits(8));
+    }
+
+    @Test(expected = IOException.class)
+    public void testSkipBitsPastEnd() throws IOException {
+        for (int i = 0; i < BLEE.length() - 1; i++) {
+            bin.skipBits(8);
+        }
+        bin.skipBits(4);
+        bin.skipBits(8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPeekBitsAboveMax() throws IOException {
+        bin.peekBits(33);
+    }
+
+    @Test
+    public void testReadLargeStream() throws IOException {
+        byte[] data = new byte[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+
+        try (Bin in = new Bin(new ByteArrayInputStream(data))) {
+            in.readBit();
+            for (int i = 0; i < data.length - 1; i++) {
+                int expected = ((data[i] << 1) | ((data[i + 1] & 0xff) >>> 7)) & 0xff;
+                assertEquals(expected, in.readInt(8));
+            }
+            assertEquals(data[data.length - 1] & 0x7f, in.readInt(7));
+            assertTrue(in.isEmpty());
+        }
+    }
+
+    @Test
+    public void testReadMappedChunks() throws IOException {
+        // 13-byte mappings put chunk boundaries inside words and codewords
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        Path mapped = testFile.resolveSibling("Mapped.bin");
+        Files.write(mapped, data);
+
+        try (Bin in = new Bin(mapped.toString(), 13);
+                Bin expected = new Bin(new ByteArrayInputStream(data))) {
+            while (!expected.isEmpty()) {
+                assertEquals(expected.readInt(12), in.readInt(12));
+                assertEquals(expected.readBit(), in.readBit());
+                assertEquals(expected.readInt(3), in.readInt(3));
+            }
+            assertTrue(in.isEmpty());
+        }
+    }
+
+    @Test
+    public void testReadMappedEmptyFile() throws IOException {
+        Path empty = testFile.resolveSibling("Empty.bin");
+        Files.write(empty, new byte[0]);
+
+        try (Bin in = new Bin(empty.toString())) {
+            assertTrue(in.isEmpty());
+        }
+    }
+
+    @Test
+    public void testReadBytes() throws IOException {
+        byte[] data = new byte[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+
+        try (Bin in = new Bin(new ByteArrayInputStream(data))) {
+            // Leave whole bytes buffered so the copy starts from the accumulator
+            byte[] actual = new byte[data.length];
+            for (int i = 0; i < 3; i++) {
+                actual[i] = (byte) in.readChar();
+            }
+            assertEquals(data.length - 3, in.read(actual, 3, data.length - 3));
+            assertArrayEquals(data, actual);
+            assertEquals(-1, in.read(actual, 0, 1));
+            assertEquals(0, in.read(actual, 0, 0));
+        }
+    }
+
+    @Test
+    public void testReadBytesUnaligned() throws IOException {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        Path mapped = testFile.resolveSibling("Mapped.bin");
+        Files.write(mapped, data);
+
+        try (Bin in = new Bin(mapped.toString(), 13);
+                Bin expected = new Bin(new ByteArrayInputStream(data))) {
+            in.readBit();
+            expected.readBit();
+            byte[] actual = new byte[data.length];
+            // The last byte holds the 7 remaining bits padded with a zero
+            assertEquals(data.length, in.read(actual, 0, actual.length));
+            for (byte b : actual) {
+                assertEquals(expected.readChar(), b & 0xff);
+            }
+            assertTrue(in.isEmpty());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testReadBytesOutOfRange() throws IOException {
+        bin.read(new byte[4], 2, 3);
+    }
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package IO;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -200,6 +204,167 @@ public class BoutTest {
         testContent(BLEE);
     }
 
+    @Test
+    public void testWriteBits() throws IOException {
+        // "Bl" = 010 00010011 01100
+        bout.writeBits(0b010, 3);
+        bout.writeBits(0b00010011, 8);
+        bout.writeBits(0b01100, 5);
+        bout.close();
+
+        testContent("Bl");
+    }
+
+    @Test
+    public void testWriteBitsIgnoresHighBits() throws IOException {
+        bout.writeBits(0xff00 | 'B', 8);
+        bout.close();
+
+        testContent("B");
+    }
+
+    @Test
+    public void testWriteBitsAcrossWords() throws IOException {
+        long blee = 0;
+        for (int i = 0; i < 8; i++) {
+            blee = (blee << 8) | BLEE.charAt(i);
+        }
+
+        // 4 + 64 + 4 bits spill the 64-bit register mid-write
+        bout.writeBits(BLEE.charAt(0) >>> 4, 4);
+        bout.writeBits(((long) BLEE.charAt(0) << 60) | (blee >>> 4), 64);
+        bout.writeBits(blee, 4);
+        bout.close();
+
+        testContent(BLEE.substring(0, 1) + BLEE.substring(0, 8));
+    }
+
+    @Test
+    public void testWriteBitsLargeOutput() throws IOException {
+        byte[] data = new byte[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+
+        bout.writeBit(true);
+        for (byte b : data) {
+            bout.writeBits(b & 0xff, 8);
+        }
+        bout.close();
+
+        byte[] actual = Files.readAllBytes(testFile);
+        assertEquals(data.length + 1, actual.length);
+        for (int i = 0; i < data.length; i++) {
+            int expected = ((i == 0 ? 1 : data[i - 1]) << 7 | (data[i] & 0xff) >>> 1) & 0xff;
+            assertEquals(expected, actual[i] & 0xff);
+        }
+        assertEquals((data[data.length - 1] << 7) & 0xff, actual[data.length] & 0xff);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteBitsWithLenGreaterThanMax() throws IOException {
+        bout.writeBits(0, 65);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteBitsWithLenLessThanMin() throws IOException {
+        bout.writeBits(0, 0);
+    }
+
+    @Test
+    public void testPosition() throws IOException {
+        assertEquals(0, bout.position());
+        bout.writeBits(1, 3);
+        assertEquals(1, bout.position());
+        bout.writeBits(0, 64);
+        assertEquals(9, bout.position());
+
+        // Past a drain of the full window
+        for (int i = 0; i < 70000; i++) {
+            bout.writeByte(0);
+        }
+        bout.flush();
+        assertEquals(70009, bout.position());
+        bout.close();
+        assertEquals(70009, Files.size(testFile));
+    }
+
+    @Test
+    public void testOpenChannel() throws IOException {
+        Files.write(testFile, BLEE.getBytes());
+        try (FileChannel ch = Bout.openChannel(testFile.toString())) {
+            assertEquals(0, ch.size());
+            ch.write(ByteBuffer.wrap("Blee".getBytes()));
+        }
+
+        testContent("Blee");
+    }
+
+    @Test(expected = FileAlreadyExistsException.class)
+    public void testOpenChannelOpenOption() throws IOException {
+        Bout.openChannel(testFile.toString(), StandardOpenOption.CREATE_NEW).close();
+    }
+
+    @Test
+    public void testWriteBytes() throws IOException {
+        byte[] data = new byte[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+
+        bout.writeByte('B');
+        bout.write(data, 1, 10);
+        bout.write(data, 11, data.length - 11);
+        bout.close();
+
+        byte[] expected = data.clone();
+        expected[0] = 'B';
+        assertArrayEquals(expected, Files.readAllBytes(testFile));
+    }
+
+    @Test
+    public void testWriteBytesUnaligned() throws IOException {
+        byte[] data = new byte[21];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+
+        bout.writeBits(0b101, 3);
+        bout.write(data, 0, data.length);
+        bout.close();
+
+        byte[] actual = Files.readAllBytes(testFile);
+        assertEquals(data.length + 1, actual.length);
+        int prev = 0b101;
+        for (int i = 0; i < data.length; i++) {
+            assertEquals((byte) ((prev << 5) | ((data[i] & 0xff) >>> 3)), actual[i]);
+            prev = data[i];
+        }
+        assertEquals((byte) (prev << 5), actual[data.length]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteBytesOutOfRange() throws IOException {
+        bout.write(new byte[4], -1, 2);
+    }
+
+    @Test
+    public void testFlushBytes() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Bout out = new Bout(baos)) {
+            out.writeBits(0xABC, 12);
+            out.flushBytes();
+            // The whole byte is written, the last 4 bits stay buffered
+            assertArrayEquals(new byte[] { (byte) 0xAB }, baos.toByteArray());
+            assertEquals(2, out.position());
+
+            out.writeBits(0xD, 4);
+            out.flushBytes();
+            assertArrayEquals(new byte[] { (byte) 0xAB, (byte) 0xCD }, baos.toByteArray());
+        }
+        assertArrayEquals(new byte[] { (byte) 0xAB, (byte) 0xCD }, baos.toByteArray());
+    }
+
     private void testContent(String expected) throws IOException {
         String content = new String(Files.readAllBytes(testFile));
         assertEquals(expected, content);
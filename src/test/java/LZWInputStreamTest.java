@@ -0,0 +1,136 @@
+/*
+ * Program     : LZWInputStreamTest
+ * Description : Test input stream that decodes LZW codewords on demand
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import IO.Bin;
+import IO.Bout;
+
+public class LZWInputStreamTest {
+    @Test
+    public void testRead() throws IOException {
+        byte[] text = "TOBEORNOTTOBEORTOBEORNOT".repeat(50).getBytes();
+
+        try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(encode(text))))) {
+            for (byte b : text) {
+                assertEquals(b & 0xff, lzw.read());
+            }
+            assertEquals(-1, lzw.read());
+            assertEquals(-1, lzw.read());
+        }
+    }
+
+    @Test
+    public void testReadArray() throws IOException {
+        // A 3-byte buffer splits most decoded strings across reads
+        byte[] text = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaabababababababab".repeat(20).getBytes();
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(encode(text))))) {
+            byte[] buf = new byte[3];
+            int n;
+            while ((n = lzw.read(buf, 0, buf.length)) != -1) {
+                decoded.write(buf, 0, n);
+            }
+        }
+        assertArrayEquals(text, decoded.toByteArray());
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(new byte[] { 16, 0 })))) {
+            assertEquals(-1, lzw.read());
+        }
+    }
+
+    @Test
+    public void testReadVariableWidth() throws IOException {
+        // Enough distinct strings to widen codewords past 12 bits and fill a 9 or
+        // 12-bit dictionary
+        Random random = new Random(375);
+        byte[] text = new byte[300000];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) (i % 1000 < 500 ? 'a' + random.nextInt(8) : random.nextInt(256));
+        }
+
+        for (int maxWidth : new int[] { 9, 12, 16, 20 }) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos), maxWidth)) {
+                lzw.write(text);
+            }
+            try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(baos.toByteArray())),
+                    maxWidth)) {
+                assertArrayEquals(text, lzw.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testReadVariableWidthShort() throws IOException {
+        for (String text : new String[] { "", "a", "ab", "aaa" }) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos), 9)) {
+                lzw.write(text.getBytes());
+            }
+            try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(baos.toByteArray())), 9)) {
+                assertArrayEquals(text.getBytes(), lzw.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testReadReset() throws IOException {
+        byte[] text = LZWOutputStreamTest.drift();
+        for (int maxWidth : new int[] { 9, 12, 16 }) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos), maxWidth, true)) {
+                lzw.write(text);
+            }
+            try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(baos.toByteArray())),
+                    maxWidth, true)) {
+                assertArrayEquals(text, lzw.readAllBytes());
+            }
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testClearFirst() throws IOException {
+        // 9-bit codewords: clear before any byte, then R
+        try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(new byte[] { -128, -64, 0 })),
+                9, true)) {
+            lzw.readAllBytes();
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInvalidCodeword() throws IOException {
+        // 12-bit codewords 'a' then 300, which has not been defined yet
+        try (LZWInputStream lzw = new LZWInputStream(new Bin(new ByteArrayInputStream(new byte[] { 0x06, 0x11,
+                0x2C })))) {
+            lzw.readAllBytes();
+        }
+    }
+
+    private byte[] encode(byte[] input) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos))) {
+            lzw.write(input);
+        }
+        return baos.toByteArray();
+    }
+}
\ No newline at end of file
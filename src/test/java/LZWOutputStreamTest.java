@@ -0,0 +1,147 @@
+/*
+ * Program     : LZWOutputStreamTest
+ * Description : Test output stream that LZW encodes the bytes written to it
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import org.junit.Test;
+
+import IO.Bout;
+
+public class LZWOutputStreamTest {
+    @Test
+    public void testMatchesSchubsL() throws IOException {
+        Path dir = Paths.get("src", "test", "resource", "LZWOutputStream");
+        Files.createDirectories(dir);
+        byte[] text = "TOBEORNOTTOBEORTOBEORNOT".repeat(50).getBytes();
+        Path tobe = dir.resolve("Tobe.txt");
+        Files.write(tobe, text);
+
+        new SchubsL().compress(tobe.toString());
+
+        assertArrayEquals(Files.readAllBytes(Paths.get(tobe + ".ll")), encode(text));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        assertArrayEquals(new byte[] { 16, 0 }, encode(new byte[0]));
+    }
+
+    @Test
+    public void testCloseTwice() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LZWOutputStream lzw = new LZWOutputStream(new Bout(baos));
+        lzw.write('a');
+        lzw.close();
+        lzw.close();
+
+        // 'a' then R, 12 bits each
+        assertArrayEquals(new byte[] { 6, 17, 0 }, baos.toByteArray());
+    }
+
+    @Test
+    public void testVariableWidth() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos), 16)) {
+            lzw.write('a');
+        }
+
+        // 'a' then R, 9 bits each while the dictionary is nearly empty
+        assertArrayEquals(new byte[] { 0x30, (byte) 0xC0, 0 }, baos.toByteArray());
+    }
+
+    @Test
+    public void testVariableWidthSmaller() throws IOException {
+        byte[] text = "TOBEORNOTTOBEORTOBEORNOT".repeat(50).getBytes();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos), 16)) {
+            lzw.write(text);
+        }
+
+        assertTrue(baos.size() < encode(text).length);
+    }
+
+    @Test
+    public void testReset() throws IOException {
+        byte[] text = drift();
+        ByteArrayOutputStream frozen = new ByteArrayOutputStream();
+        try (LZWOutputStream lzw = new LZWOutputStream(new Bout(frozen), 12)) {
+            lzw.write(text);
+        }
+        ByteArrayOutputStream reset = new ByteArrayOutputStream();
+        try (LZWOutputStream lzw = new LZWOutputStream(new Bout(reset), 12, true)) {
+            lzw.write(text);
+        }
+
+        assertTrue(reset.size() < frozen.size());
+    }
+
+    /**
+     * Words drawn from a different vocabulary every 256 KiB
+     */
+    static byte[] drift() {
+        Random random = new Random(375);
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        for (int part = 0; part < 4; part++) {
+            String[] words = new String[200];
+            for (int i = 0; i < words.length; i++) {
+                StringBuilder word = new StringBuilder();
+                for (int j = 3 + random.nextInt(6); j > 0; j--) {
+                    word.append((char) ('!' + part * 20 + random.nextInt(20)));
+                }
+                words[i] = word.append(' ').toString();
+            }
+            for (int size = text.size(); text.size() - size < 1 << 18;) {
+                text.writeBytes(words[random.nextInt(words.length)].getBytes());
+            }
+        }
+        return text.toByteArray();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVariableWidthOutOfRange() {
+        new LZWOutputStream(new Bout(new ByteArrayOutputStream()), 8);
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterFinish() throws IOException {
+        LZWOutputStream lzw = new LZWOutputStream(new Bout(new ByteArrayOutputStream()));
+        lzw.finish();
+        lzw.write('a');
+    }
+
+    @Test
+    public void testWriteOutOfRange() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos))) {
+            lzw.write("abcd".getBytes(), 2, 3);
+            fail("Range past the end of the array accepted");
+        } catch (IndexOutOfBoundsException e) {
+            // Nothing of the range was encoded
+        }
+        assertArrayEquals(encode(new byte[0]), baos.toByteArray());
+    }
+
+    private byte[] encode(byte[] input) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (LZWOutputStream lzw = new LZWOutputStream(new Bout(baos))) {
+            lzw.write(input);
+        }
+        return baos.toByteArray();
+    }
+}
\ No newline at end of file
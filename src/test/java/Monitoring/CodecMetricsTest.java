@@ -0,0 +1,100 @@
+package Monitoring;
+
+/*
+ * Program     : CodecMetricsTest
+ * Description : Test counters of a codec's activity, published over JMX
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+
+import org.junit.Test;
+
+public class CodecMetricsTest {
+    @Test
+    public void testOf() {
+        assertSame(CodecMetrics.of("TestOf"), CodecMetrics.of("TestOf"));
+        assertTrue(CodecMetrics.snapshots().containsKey("TestOf"));
+    }
+
+    @Test
+    public void testOperation() {
+        CodecMetrics metrics = CodecMetrics.of("TestOperation");
+        try (CodecMetrics.Operation op = metrics.start()) {
+            assertEquals(1, metrics.getActiveOperations());
+            metrics.addBytes(100, 40);
+            metrics.addCodes(30);
+            metrics.addPhase("encode", 5);
+            metrics.addPhase("encode", 7);
+            metrics.dictionary(64, 256, 1);
+            op.succeeded();
+        }
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals("TestOperation", snapshot.codec());
+        assertEquals(1, snapshot.operations());
+        assertEquals(0, snapshot.failures());
+        assertEquals(0, snapshot.activeOperations());
+        assertEquals(100, snapshot.bytesIn());
+        assertEquals(40, snapshot.bytesOut());
+        assertEquals(30, snapshot.codes());
+        assertEquals(64, snapshot.dictionarySize());
+        assertEquals(256, snapshot.dictionaryCapacity());
+        assertEquals(1, snapshot.dictionaryResets());
+        assertEquals(1, snapshot.latency().count());
+        assertEquals(Map.of("encode", 12L), snapshot.phaseNanos());
+        assertEquals(0.25, metrics.getDictionaryFill(), 0);
+    }
+
+    @Test
+    public void testFailure() {
+        CodecMetrics metrics = CodecMetrics.of("TestFailure");
+        CodecMetrics.Operation op = metrics.start();
+        assertEquals(1, metrics.getActiveOperations());
+        // Closed without succeeded(), as when the work throws
+        op.close();
+
+        assertEquals(1, metrics.getOperations());
+        assertEquals(1, metrics.getFailures());
+        assertEquals(0, metrics.getActiveOperations());
+    }
+
+    @Test
+    public void testCloseTwice() {
+        CodecMetrics metrics = CodecMetrics.of("TestCloseTwice");
+        CodecMetrics.Operation op = metrics.start();
+        op.succeeded();
+        op.close();
+        op.close();
+
+        assertEquals(1, metrics.getOperations());
+        assertEquals(0, metrics.getActiveOperations());
+    }
+
+    @Test
+    public void testMBean() throws JMException {
+        CodecMetrics metrics = CodecMetrics.of("TestMBean");
+        metrics.addBytes(10, 3);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(10L, server.getAttribute(CodecMetrics.objectName("TestMBean"), "BytesIn"));
+        assertEquals(3L, server.getAttribute(CodecMetrics.objectName("TestMBean"), "BytesOut"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidName() {
+        CodecMetrics.of("Test,Invalid");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package Monitoring;
+
+/*
+ * Program     : CodecPhaseEventTest
+ * Description : Test flight recorder event for one phase of a codec
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+public class CodecPhaseEventTest {
+    @Test
+    public void testDisabled() {
+        CodecPhaseEvent event = CodecPhaseEvent.start("Test", "disabled");
+
+        assertEquals(0, event.now());
+        event.addInputTime(0);
+        event.end(1, 1);
+    }
+
+    @Test
+    public void testRecorded() throws IOException, InterruptedException {
+        Path jfr = Files.createTempFile("phase", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CodecPhaseEvent.class);
+            recording.start();
+            CodecPhaseEvent event = CodecPhaseEvent.start("Test", "recorded");
+            long t = event.now();
+            Thread.sleep(2);
+            event.addInputTime(t);
+            t = event.now();
+            Thread.sleep(2);
+            event.addOutputTime(t);
+            event.end(10, 4);
+            recording.stop();
+            recording.dump(jfr);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        Files.delete(jfr);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("Test", event.getString("codec"));
+        assertEquals("recorded", event.getString("phase"));
+        assertEquals(10, event.getLong("bytesIn"));
+        assertEquals(4, event.getLong("bytesOut"));
+        Duration input = event.getDuration("inputTime");
+        Duration output = event.getDuration("outputTime");
+        assertTrue(input.toMillis() >= 2);
+        assertTrue(output.toMillis() >= 2);
+        assertTrue(event.getDuration().compareTo(input.plus(output)) >= 0);
+    }
+}
\ No newline at end of file
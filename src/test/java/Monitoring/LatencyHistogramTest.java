@@ -0,0 +1,73 @@
+package Monitoring;
+
+/*
+ * Program     : LatencyHistogramTest
+ * Description : Test lock-free histogram of durations in power of two buckets
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void testEmpty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.meanNanos(), 0);
+        assertEquals(0, snapshot.percentileNanos(50));
+        assertEquals(0, snapshot.maxNanos());
+    }
+
+    @Test
+    public void testRecord() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+        histogram.record(-1);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(101, snapshot.count());
+        assertEquals(99 * 100 + 5000, snapshot.totalNanos());
+        assertEquals(5000, snapshot.maxNanos());
+        // 100 is in the bucket from 64 to 127
+        assertEquals(127, snapshot.percentileNanos(50));
+        assertEquals(127, snapshot.percentileNanos(98));
+        // The top bucket's bound is capped at the longest duration
+        assertEquals(5000, snapshot.percentileNanos(100));
+        assertEquals(0, snapshot.percentileNanos(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentileOutOfRange() {
+        new LatencyHistogram().snapshot().percentileNanos(101);
+    }
+
+    @Test
+    public void testConcurrentRecord() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, histogram.snapshot().count());
+        assertEquals(9999, histogram.snapshot().maxNanos());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+/*
+ * Program     : ParallelCodecTest
+ * Description : Test compress and decompress independent blocks of a stream in
+ *               parallel
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import IO.Bin;
+import IO.Bout;
+
+public class ParallelCodecTest {
+    @Test
+    public void testRoundTrip() throws IOException {
+        byte[] input = new byte[1000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (byte) (i * 7);
+        }
+
+        // 64-byte blocks finish out of order on 4 threads but are written in order
+        ParallelCodec pc = new ParallelCodec(4, 64);
+        byte[] container = code(input, (bin, bout) -> pc.compress(bin, bout, this::invert));
+        assertEquals(input.length + 16 * 8 + 4, container.length);
+
+        byte[] output = code(container, (bin, bout) -> pc.decompress(bin, bout, this::invert));
+        assertArrayEquals(input, output);
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        ParallelCodec pc = new ParallelCodec(2, 64);
+        byte[] container = code(new byte[0], (bin, bout) -> pc.compress(bin, bout, this::invert));
+        assertArrayEquals(new byte[] { 0, 0, 0, 0 }, container);
+
+        assertArrayEquals(new byte[0], code(container, (bin, bout) -> pc.decompress(bin, bout, this::invert)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncated() throws IOException {
+        ParallelCodec pc = new ParallelCodec(2, 64);
+        byte[] container = { 0, 0, 0, 8, 0, 0, 0, 8, 1, 2, 3 };
+        code(container, (bin, bout) -> pc.decompress(bin, bout, this::invert));
+    }
+
+    @Test(expected = IOException.class)
+    public void testWrongLength() throws IOException {
+        // The frame claims 9 raw bytes but decodes to 8
+        ParallelCodec pc = new ParallelCodec(2, 64);
+        byte[] container = { 0, 0, 0, 9, 0, 0, 0, 8, 1, 2, 3, 4, 5, 6, 7, 8, 0, 0, 0, 0 };
+        code(container, (bin, bout) -> pc.decompress(bin, bout, this::invert));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoThreads() {
+        new ParallelCodec(0);
+    }
+
+    private void invert(Bin bin, Bout bout) throws IOException {
+        while (!bin.isEmpty()) {
+            bout.writeByte(~bin.readChar() & 0xff);
+        }
+    }
+
+    private byte[] code(byte[] input, ParallelCodec.Codec codec) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Bin bin = new Bin(new ByteArrayInputStream(input));
+                Bout bout = new Bout(baos)) {
+            codec.code(bin, bout);
+        }
+        return baos.toByteArray();
+    }
+}
\ No newline at end of file
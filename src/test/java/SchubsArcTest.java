@@ -9,22 +9,35 @@
  */
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import IO.Bout;
+
 public class SchubsArcTest {
     private Path dir;
     private final PrintStream originalErr = System.err;
@@ -80,6 +93,41 @@ public class SchubsArcTest {
         new SchubsArc().compress(dir.resolve("Missing.zl").toString(), new String[] { "Missing.txt" });
     }
 
+    @Test
+    public void testArcMissingFileCreatesNoArchive() throws IOException {
+        Path blee = dir.resolve("Blee.txt");
+        Path arc = dir.resolve("Partial.zl");
+        Files.write(blee, "Blee".getBytes());
+        Files.deleteIfExists(arc);
+
+        SchubsArc.main(new String[] { arc.toString(), blee.toString(), "Missing.txt" });
+
+        assertHasErrorMessage();
+        assertFalse(Files.exists(arc));
+    }
+
+    @Test
+    public void testArcFailedWriteRemovesArchive() throws IOException {
+        // Linux sysfs attributes are regular files that cannot be mapped, so
+        // reading this member fails after the first one is written
+        Path unreadable = Paths.get("/sys/kernel/mm/transparent_hugepage/enabled");
+        assumeTrue(Files.isRegularFile(unreadable));
+        Path blee = dir.resolve("Blee.txt");
+        Path arc = dir.resolve("Failed.zl");
+        Files.write(blee, "Blee\nBlah\nBlue".getBytes());
+        Files.deleteIfExists(arc);
+
+        SchubsArc.main(new String[] { arc.toString(), blee.toString(), unreadable.toString() });
+        assertHasErrorMessage();
+        assertFalse(Files.exists(arc));
+
+        // The same command with readable members now succeeds
+        newErr.reset();
+        SchubsArc.main(new String[] { arc.toString(), blee.toString() });
+        assertEquals(0, newErr.size());
+        assertTrue(Files.exists(arc));
+    }
+
     @Test
     public void testArcAlreadyExists() throws IOException {
         Path blankText = dir.resolve("Blank.txt");
@@ -176,6 +224,221 @@ public class SchubsArcTest {
         checkFileContents(d222, daniel222.getBytes());
     }
 
+    @Test
+    public void testArcLargeFiles() throws IOException {
+        // Files larger than the read and write buffers stream through both ends
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("line ").append(i).append(": the quick brown fox jumps over the lazy dog\n");
+        }
+        byte[] first = sb.toString().getBytes();
+        byte[] second = sb.reverse().toString().getBytes();
+        Path firstPath = dir.resolve("First.txt");
+        Path secondPath = dir.resolve("Second.txt");
+        Path archive = dir.resolve("Large.zl");
+        Files.write(firstPath, first);
+        Files.write(secondPath, second);
+
+        new SchubsArc().compress(archive.toString(), new String[] { firstPath.toString(), secondPath.toString() });
+        new Deschubs().unarchive(archive.toString());
+
+        checkFileContents(firstPath, first);
+        checkFileContents(secondPath, second);
+    }
+
+    @Test
+    public void testArcList() throws IOException {
+        Path blee = dir.resolve("Blee.txt");
+        Path blank = dir.resolve("Blank.txt");
+        Path archive = dir.resolve("List.zl");
+        byte[] bleeText = "Blee\nBlah\nBlue\n".repeat(20).getBytes();
+        Files.write(blee, bleeText);
+        Files.write(blank, new byte[0]);
+
+        new SchubsArc().compress(archive.toString(), new String[] { blee.toString(), blank.toString() });
+        List<ArchiveEntry> entries = new Deschubs().list(archive.toString());
+
+        assertEquals(2, entries.size());
+        assertEquals(blee.toString(), entries.get(0).name());
+        assertEquals(bleeText.length, entries.get(0).size());
+        assertEquals(2, entries.get(0).offset());
+        assertEquals(ArchiveEntry.LZW, entries.get(0).codec());
+        assertTrue(entries.get(0).compressedSize() < bleeText.length);
+        assertEquals(blank.toString(), entries.get(1).name());
+        assertEquals(0, entries.get(1).size());
+        assertEquals(entries.get(0).offset() + entries.get(0).compressedSize(), entries.get(1).offset());
+        assertEquals(ArchiveEntry.STORED, entries.get(1).codec());
+    }
+
+    @Test
+    public void testArcStored() throws IOException {
+        // Random bytes do not compress, so they are stored as is
+        byte[] noise = new byte[200000];
+        new Random(375).nextBytes(noise);
+        byte[] text = "Blee\nBlah\nBlue\n".repeat(20).getBytes();
+        Path noisePath = dir.resolve("Noise.bin");
+        Path textPath = dir.resolve("Text.txt");
+        Path archive = dir.resolve("Stored.zl");
+        Files.write(noisePath, noise);
+        Files.write(textPath, text);
+
+        new SchubsArc().compress(archive.toString(), new String[] { noisePath.toString(), textPath.toString() });
+        List<ArchiveEntry> entries = new Deschubs().list(archive.toString());
+        assertEquals(ArchiveEntry.STORED, entries.get(0).codec());
+        assertEquals(noise.length, entries.get(0).compressedSize());
+        assertEquals(ArchiveEntry.LZW, entries.get(1).codec());
+
+        new Deschubs().unarchive(archive.toString());
+        checkFileContents(noisePath, noise);
+        checkFileContents(textPath, text);
+
+        Files.delete(noisePath);
+        new Deschubs().unarchive(archive.toString(), noisePath.toString());
+        checkFileContents(noisePath, noise);
+    }
+
+    @Test
+    public void testArcEntryEvents() throws IOException {
+        byte[] noise = new byte[200000];
+        new Random(375).nextBytes(noise);
+        byte[] text = "Blee\nBlah\nBlue\n".repeat(20).getBytes();
+        Path noisePath = dir.resolve("EventsNoise.bin");
+        Path textPath = dir.resolve("EventsText.txt");
+        Path archive = dir.resolve("Events.zl");
+        Path jfr = dir.resolve("Events.jfr");
+        Files.write(noisePath, noise);
+        Files.write(textPath, text);
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("ShrinkWrap.ArchiveEntry");
+            recording.start();
+            new SchubsArc().compress(archive.toString(), new String[] { noisePath.toString(), textPath.toString() });
+            new Deschubs().unarchive(archive.toString(), textPath.toString());
+            recording.stop();
+            recording.dump(jfr);
+            events = RecordingFile.readAllEvents(jfr);
+        }
+
+        events.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        List<ArchiveEntry> entries = new Deschubs().list(archive.toString());
+        assertEquals(3, events.size());
+        assertEquals("compress", events.get(0).getString("operation"));
+        assertEquals(noisePath.toString(), events.get(0).getString("member"));
+        assertTrue(events.get(0).getBoolean("stored"));
+        assertEquals(noise.length, events.get(0).getLong("compressedSize"));
+        assertFalse(events.get(1).getBoolean("stored"));
+        assertEquals(text.length, events.get(1).getLong("size"));
+        assertEquals(entries.get(1).compressedSize(), events.get(1).getLong("compressedSize"));
+        assertEquals("extract", events.get(2).getString("operation"));
+        assertEquals(archive.toString(), events.get(2).getString("archive"));
+        assertEquals(textPath.toString(), events.get(2).getString("member"));
+    }
+
+    @Test
+    public void testArcStoredAfterCompressing() throws IOException {
+        // Text probes as compressible, but the noise after it makes the whole file
+        // larger when compressed, so it is stored after all
+        byte[] noise = new byte[1000000];
+        new Random(375).nextBytes(noise);
+        System.arraycopy("Blee\n".repeat(8000).getBytes(), 0, noise, 0, 40000);
+        Path mixed = dir.resolve("Mixed.bin");
+        Path archive = dir.resolve("Mixed.zl");
+        Files.write(mixed, noise);
+
+        new SchubsArc().compress(archive.toString(), new String[] { mixed.toString() });
+        List<ArchiveEntry> entries = new Deschubs().list(archive.toString());
+        assertEquals(ArchiveEntry.STORED, entries.get(0).codec());
+        assertEquals(2 + noise.length, entries.get(0).offset() + entries.get(0).compressedSize());
+
+        new Deschubs().unarchive(archive.toString());
+        checkFileContents(mixed, noise);
+    }
+
+    @Test
+    public void testArcExtractMember() throws IOException {
+        Path blee = dir.resolve("Blee.txt");
+        Path blah = dir.resolve("Blah.txt");
+        Path archive = dir.resolve("Member.zl");
+        Files.write(blee, "Blee".getBytes());
+        Files.write(blah, "Blah".getBytes());
+
+        new SchubsArc().compress(archive.toString(), new String[] { blee.toString(), blah.toString() });
+        Files.delete(blee);
+        Files.delete(blah);
+        new Deschubs().unarchive(archive.toString(), blah.toString());
+
+        assertFalse(Files.exists(blee));
+        checkFileContents(blah, "Blah".getBytes());
+    }
+
+    @Test
+    public void testArcTruncatedMember() throws IOException {
+        Path blee = dir.resolve("Blee.txt");
+        Path archive = dir.resolve("Truncated.zl");
+        byte[] text = "Blee\nBlah\nBlue\n".repeat(100).getBytes();
+        Files.write(blee, text);
+        new SchubsArc().compress(archive.toString(), new String[] { blee.toString() });
+        ArchiveEntry entry = new Deschubs().list(archive.toString()).get(0);
+        assertEquals(ArchiveEntry.LZW, entry.codec());
+
+        // Rewrite the archive with the member two bytes short and a directory that
+        // agrees, so only the missing end codeword gives the truncation away
+        byte[] bytes = Files.readAllBytes(archive);
+        long cut = entry.compressedSize() - 2;
+        try (Bout bout = new Bout(archive.toString(), StandardOpenOption.TRUNCATE_EXISTING)) {
+            bout.write(bytes, 0, (int) (entry.offset() + cut));
+            long directory = entry.offset() + cut;
+            bout.write(1);
+            new ArchiveEntry(entry.name(), entry.offset(), cut, entry.size(), entry.codec()).write(bout);
+            bout.write(directory);
+            bout.write(bytes, bytes.length - 2, 2);
+        }
+
+        Files.delete(blee);
+        try {
+            new Deschubs().unarchive(archive.toString());
+            fail("Truncated member extracted");
+        } catch (EOFException e) {
+            assertEquals("Truncated LZW stream", e.getMessage());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testArcExtractMissingMember() throws IOException {
+        Path blee = dir.resolve("Blee.txt");
+        Path archive = dir.resolve("Member.zl");
+        Files.write(blee, "Blee".getBytes());
+
+        new SchubsArc().compress(archive.toString(), new String[] { blee.toString() });
+        new Deschubs().unarchive(archive.toString(), "Missing.txt");
+    }
+
+    @Test
+    public void testArcListAndMemberCLI() throws IOException {
+        Path blee = dir.resolve("Blee.txt");
+        Path archive = dir.resolve("Cli.zl");
+        Files.write(blee, "Blee".getBytes());
+        Files.deleteIfExists(archive);
+
+        SchubsArc.main(new String[] { archive.toString(), blee.toString() });
+        Files.delete(blee);
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream newOut = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(newOut));
+        try {
+            Deschubs.main(new String[] { "--list", archive.toString() });
+            Deschubs.main(new String[] { "--member", blee.toString(), archive.toString() });
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(0, newErr.size());
+        assertTrue(newOut.toString().trim().endsWith(blee.toString()));
+        checkFileContents(blee, "Blee".getBytes());
+    }
+
     @Test
     public void testArcLongword() throws IOException {
         String longWord = "Supercalifragilisticexpialidocious";
@@ -18,14 +18,22 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import IO.Bout;
+
 public class SchubsHTest {
     private Path dir;
     private final PrintStream originalErr = System.err;
@@ -55,7 +63,8 @@ public class SchubsHTest {
         new SchubsH().compress(bleeText.toString());
 
         checkFileContents(Paths.get(bleeText + ".hh"),
-                new byte[] { 44, -74, -59, 8, -80, -38, 23, 88, 80, 0, 0, 0, 116, -121, -50, 111, -49, 0 });
+                new byte[] { 64, 32, 0, 3, 19, -128, -128, -62, -16, 112, -121, -14, 47, 34, 39, 37, -62, -34,
+                        -62, -12, 0 });
 
         new Deschubs().deHuffman(bleeText + ".hh");
         checkFileContents(bleeText, blee.getBytes());
@@ -68,9 +77,9 @@ public class SchubsHTest {
 
         new SchubsH().compress(blankText.toString());
 
-        // EOF, 0 - root, 0000 - 4-byte int length
+        // Magic, version 3, and the empty block that ends the stream
         checkFileContents(Paths.get(blankText + ".hh"),
-                new byte[] { -128, 0, 0, 0, 0, 0 });
+                new byte[] { 64, 32, 0, 3, 0 });
 
         new Deschubs().deHuffman(blankText + ".hh");
         checkFileContents(blankText, new byte[0]);
@@ -135,9 +144,8 @@ public class SchubsHTest {
         new SchubsH().compress(longWordText.toString());
 
         checkFileContents(Paths.get(longWordText + ".hh"),
-                new byte[] { 45, 37, -51, 103, -70, 46, -74, 81, 111, -72, 23, -117, 53,
-                        -56, 84, -20, -106, 21, -78, -58, 0, 0, 0, 69, -122, -105, -65, -34,
-                        43, 122, -93, -124, 89, -17, 73, 55, -116, -57, -112, -56 });
+                new byte[] { 64, 32, 0, 3, 26, 32, 40, 120, 21, 32, -26, -98, 94, 98, 45, -73, 105, -34, 91, -102,
+                        -55, 106, 84, 115, -108, -99, 28, -65, 10, -33, -111, 28, -36, 41, 25, 96, 0 });
 
         new Deschubs().deHuffman(longWordText + ".hh");
         checkFileContents(longWordText, longWord.getBytes());
@@ -152,9 +160,9 @@ public class SchubsHTest {
         new SchubsH().compress(lowercaseText.toString());
 
         checkFileContents(Paths.get(lowercaseText + ".hh"),
-                new byte[] { 11, -83, -59, 114, -71, -106, 107, 97, 111, -74, -83, 118, 48, -80, -34, -106,
-                        123, 113, 116, -76, -81, 22, 65, 101, -75, 47, 54, 34, -17, 104, 93, -82, 0, 0, 0,
-                        3, 80, -37, -17, -124, -105, 107, -105, 43, 102, -49, -119, 29, 3, -36, -74, -94 });
+                new byte[] { 64, 32, 0, 3, 23, 64, 81, -112, 49, 76, -52, -53, -52, -52, -53, -52, -52, -69,
+                        -68, -68, -52, -52, 99, 92, -8, 4, 101, 58, 84, 109, 124, 100, -115, 52, -69, -25, 125,
+                        -16, 0 });
 
         new Deschubs().deHuffman(lowercaseText + ".hh");
         checkFileContents(lowercaseText, lowercase.getBytes());
@@ -169,14 +177,263 @@ public class SchubsHTest {
         new SchubsH().compress(uppercaseText.toString());
 
         checkFileContents(Paths.get(uppercaseText + ".hh"),
-                new byte[] { 10, -83, 69, 82, -87, -108, 106, 97, 79, -90, -87, 116, 48, -96, -42, -108, 122,
-                        113, 84, -92, -85, 20, 65, 69, -91, 43, 52, 34, -81, 72, 85, -86, 0, 0, 0, 3, 80,
-                        -37, -17, -124, -105, 107, -105, 43, 102, -49, -119, 29, 3, -36, -74, -94 });
+                new byte[] { 64, 32, 0, 3, 23, 64, 81, -112, 33, 76, -52, -53, -52, -52, -53, -52, -52, -69,
+                        -68, -68, -52, -52, 99, 92, -8, 4, 101, 58, 84, 109, 124, 100, -115, 52, -69, -25, 125,
+                        -16, 0 });
 
         new Deschubs().deHuffman(uppercaseText + ".hh");
         checkFileContents(uppercaseText, uppercase.getBytes());
     }
 
+    @Test
+    public void testHuffmanSkewed() throws IOException {
+        byte[] skewed = skewed();
+        Path skewedText = dir.resolve("Skewed.txt");
+        Files.write(skewedText, skewed);
+
+        new SchubsH().compress(skewedText.toString());
+        new Deschubs().deHuffman(skewedText + ".hh");
+        checkFileContents(skewedText, skewed);
+    }
+
+    @Test
+    public void testHuffmanBinary() throws IOException {
+        // Every byte value, most of them not characters in any charset
+        byte[] binary = new byte[100000];
+        new Random(375).nextBytes(binary);
+        for (int i = 0; i < 256; i++) {
+            binary[i] = (byte) i;
+        }
+        Path binaryFile = dir.resolve("Binary.bin");
+        Files.write(binaryFile, binary);
+
+        new SchubsH().compress(binaryFile.toString());
+        new Deschubs().deHuffman(binaryFile + ".hh");
+        checkFileContents(binaryFile, binary);
+
+        SchubsH sh = new SchubsH();
+        sh.setThreads(2);
+        sh.setBlockSize(4096);
+        sh.compress(binaryFile.toString(), StandardOpenOption.TRUNCATE_EXISTING);
+        new Deschubs().deHuffman(binaryFile + ".hh", StandardOpenOption.TRUNCATE_EXISTING);
+        checkFileContents(binaryFile, binary);
+    }
+
+    @Test
+    public void testHuffmanMaxCodeLength() throws IOException {
+        byte[] skewed = skewed();
+        Path skewedText = dir.resolve("Limited.txt");
+        Files.write(skewedText, skewed);
+
+        SchubsH sh = new SchubsH();
+        sh.setMaxCodeLength(8);
+        sh.compress(skewedText.toString());
+        new Deschubs().deHuffman(skewedText + ".hh");
+        checkFileContents(skewedText, skewed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHuffmanMaxCodeLengthOutOfRange() {
+        new SchubsH().setMaxCodeLength(33);
+    }
+
+    @Test
+    public void testHuffmanMaxCodeLengthOption() throws IOException {
+        byte[] skewed = skewed();
+        Path skewedText = dir.resolve("LimitedCli.txt");
+        Files.write(skewedText, skewed);
+        Files.deleteIfExists(Paths.get(skewedText + ".hh"));
+
+        SchubsH.main(new String[] { "--max-code-length", "8", skewedText.toString() });
+        assertEquals(0, newErr.size());
+
+        Files.delete(skewedText);
+        Deschubs.main(new String[] { skewedText + ".hh" });
+        assertEquals(0, newErr.size());
+        checkFileContents(skewedText, skewed);
+    }
+
+    @Test
+    public void testHuffmanMaxCodeLengthOptionOutOfRange() {
+        SchubsH.main(new String[] { "--max-code-length", "40", "Blee.txt" });
+        assertEquals("Maximum code length must be from 8 to 32: 40", newErr.toString().trim());
+    }
+
+    @Test(expected = IOException.class)
+    public void testHuffmanCodeTooLong() throws IOException {
+        // A complete code with one symbol of each length from 1 to 64 and a second
+        // of length 64, deeper than any code SchubsH writes
+        Path deep = dir.resolve("Deep.txt.hh");
+        Files.deleteIfExists(deep);
+        try (Bout bout = new Bout(deep.toString())) {
+            bout.writeBits(SchubsH.getMAGIC(), SchubsH.getMAGIC_BITS());
+            bout.writeBits(SchubsH.getBLOCK_VERSION(), Byte.SIZE);
+            SchubsH.writeLength(1, bout);
+            bout.writeBit(false);
+            bout.writeBits(64, Byte.SIZE);
+            bout.writeBits(64, Byte.SIZE);
+            for (int c = 0; c <= 64; c++) {
+                bout.writeBit(true);
+                bout.writeBits(Math.min(c, 63), 6);
+            }
+            bout.writeBits(0, Integer.SIZE);
+        }
+
+        new Deschubs().deHuffman(deep.toString(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Test
+    public void testHuffmanBlocks() throws IOException {
+        // Text, then a run of one symbol, then text again: each change of statistics
+        // gets a new table, the repeated text reuses one
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            sb.append("the quick brown fox ");
+        }
+        sb.append("z".repeat(3000));
+        for (int i = 0; i < 300; i++) {
+            sb.append("the quick brown fox ");
+        }
+        byte[] blocks = sb.toString().getBytes();
+        Path blocksText = dir.resolve("Blocks.txt");
+        Files.write(blocksText, blocks);
+
+        SchubsH sh = new SchubsH();
+        sh.setBlockSize(1024);
+        sh.compress(blocksText.toString());
+        new Deschubs().deHuffman(blocksText + ".hh");
+        checkFileContents(blocksText, blocks);
+    }
+
+    @Test
+    public void testHuffmanBlockBoundary() throws IOException {
+        // Input an exact multiple of the block size ends with a full block
+        byte[] boundary = new byte[2048];
+        for (int i = 0; i < boundary.length; i++) {
+            boundary[i] = (byte) (i * 31);
+        }
+        Path boundaryText = dir.resolve("Boundary.txt");
+        Files.write(boundaryText, boundary);
+
+        SchubsH sh = new SchubsH();
+        sh.setBlockSize(1024);
+        sh.compress(boundaryText.toString());
+        new Deschubs().deHuffman(boundaryText + ".hh");
+        checkFileContents(boundaryText, boundary);
+    }
+
+    @Test
+    public void testHuffmanPhaseEvents() throws IOException {
+        byte[] text = "Blee\nBlah\nBlue\n".repeat(200).getBytes();
+        Path eventsText = dir.resolve("Events.txt");
+        Path jfr = dir.resolve("Events.jfr");
+        Files.write(eventsText, text);
+
+        try (Recording recording = new Recording()) {
+            recording.enable("ShrinkWrap.CodecPhase");
+            recording.start();
+            SchubsH sh = new SchubsH();
+            sh.setBlockSize(1024);
+            sh.compress(eventsText.toString());
+            new Deschubs().deHuffman(eventsText + ".hh");
+            recording.stop();
+            recording.dump(jfr);
+        }
+
+        Map<String, Long> bytes = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(jfr)) {
+            String key = event.getString("codec") + " " + event.getString("phase");
+            bytes.merge(key, event.getLong("bytesIn") + event.getLong("bytesOut"), Long::sum);
+        }
+        assertEquals(Long.valueOf(text.length), bytes.get("SchubsH read"));
+        assertEquals(Long.valueOf(text.length), bytes.get("SchubsH count"));
+        assertTrue(bytes.containsKey("SchubsH build"));
+        assertEquals(Long.valueOf(text.length + Files.size(Paths.get(eventsText + ".hh")) - 4),
+                bytes.get("SchubsH encode"));
+        assertTrue(bytes.containsKey("Deschubs build"));
+        assertEquals(Long.valueOf(text.length), bytes.get("Deschubs decode"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHuffmanBlockSizeOutOfRange() {
+        new SchubsH().setBlockSize(1);
+    }
+
+    @Test
+    public void testHuffmanBlockOption() throws IOException {
+        // Blocks larger than a container part are kept whole in each part
+        Random random = new Random(20);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 3 << 20) {
+            sb.append(random.nextInt(1000)).append(' ');
+        }
+        byte[] text = sb.toString().getBytes();
+        Path blockText = dir.resolve("BlockCli.txt");
+        Files.write(blockText, text);
+        Files.deleteIfExists(Paths.get(blockText + ".hh"));
+
+        SchubsH.main(new String[] { "--block", String.valueOf(2 << 20), "--threads", "2",
+                blockText.toString() });
+        assertEquals(0, newErr.size());
+
+        Files.delete(blockText);
+        Deschubs.main(new String[] { "--threads", "2", blockText + ".hh" });
+        assertEquals(0, newErr.size());
+        checkFileContents(blockText, text);
+    }
+
+    @Test
+    public void testHuffmanBlockOptionOutOfRange() {
+        SchubsH.main(new String[] { "--block", "1", "Blee.txt" });
+        assertEquals("Block size must be from 1024 to 67108864: 1", newErr.toString().trim());
+    }
+
+    @Test
+    public void testHuffmanOptionsAfterFile() throws IOException {
+        byte[] text = "Blee\nBlah\nBlue".getBytes();
+        Path optionsText = dir.resolve("Options.txt");
+        Files.write(optionsText, text);
+        Files.deleteIfExists(Paths.get(optionsText + ".hh"));
+
+        SchubsH.main(new String[] { optionsText.toString(), "--threads", "2" });
+        assertEquals(0, newErr.size());
+        assertEquals(4, Files.readAllBytes(Paths.get(optionsText + ".hh"))[3]);
+
+        Files.delete(optionsText);
+        Deschubs.main(new String[] { optionsText + ".hh", "--threads", "2" });
+        assertEquals(0, newErr.size());
+        checkFileContents(optionsText, text);
+    }
+
+    @Test
+    public void testHuffmanUnknownOption() {
+        SchubsH.main(new String[] { "Blee.txt", "--fast" });
+        assertEquals("Unknown option --fast", newErr.toString().trim());
+    }
+
+    @Test
+    public void testHuffmanParallel() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append("line ").append(i).append(": the quick brown fox jumps over the lazy dog\n");
+        }
+        byte[] large = sb.toString().getBytes();
+        Path parallelText = dir.resolve("Parallel.txt");
+        Files.write(parallelText, large);
+
+        SchubsH sh = new SchubsH();
+        sh.setThreads(4);
+        sh.compress(parallelText.toString());
+
+        byte[] hh = Files.readAllBytes(Paths.get(parallelText + ".hh"));
+        assertEquals(4, hh[3]);
+
+        Deschubs deschubs = new Deschubs();
+        deschubs.setThreads(4);
+        deschubs.deHuffman(parallelText + ".hh");
+        checkFileContents(parallelText, large);
+    }
+
     @Test
     public void testHuffmanFileAlreadyExists() throws IOException {
         Path blank = dir.resolve("Blank.txt");
@@ -194,6 +451,22 @@ public class SchubsHTest {
         assertHasErrorMessage();
     }
 
+    /**
+     * Fibonacci frequencies give the deepest possible trie
+     */
+    private byte[] skewed() {
+        StringBuilder sb = new StringBuilder();
+        int a = 1;
+        int b = 1;
+        for (char c = 'a'; c <= 'p'; c++) {
+            sb.append(String.valueOf(c).repeat(a));
+            int t = a + b;
+            a = b;
+            b = t;
+        }
+        return sb.toString().getBytes();
+    }
+
     private void checkFileContents(Path file, byte[] expected) throws IOException {
         byte[] actual = Files.readAllBytes(file);
         assertEquals(0, Arrays.compare(expected, actual));
@@ -0,0 +1,201 @@
+/*
+ * Program     : SchubsInputStreamTest
+ * Description : Test input stream that decompresses the bytes read through it
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import IO.Bout;
+import Monitoring.MetricsSnapshot;
+
+public class SchubsInputStreamTest {
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Paths.get("src", "test", "resource", "SchubsInputStream");
+        Files.createDirectories(dir);
+    }
+
+    @Test
+    public void testLZWFile() throws IOException {
+        byte[] text = SchubsOutputStreamTest.text(3000);
+        Path file = dir.resolve("Lzw.txt");
+        Files.write(file, text);
+        new SchubsL().compress(file.toString());
+
+        assertArrayEquals(text, decompress(Files.readAllBytes(Paths.get(file + ".ll")), SchubsFormat.LZW));
+    }
+
+    @Test
+    public void testLZWContainer() throws IOException {
+        byte[] text = SchubsOutputStreamTest.text(60000);
+        Path file = dir.resolve("LzwContainer.txt");
+        Files.write(file, text);
+        SchubsL sl = new SchubsL();
+        sl.setThreads(4);
+        sl.setMaxWidth(16);
+        sl.compress(file.toString());
+
+        assertArrayEquals(text, decompress(Files.readAllBytes(Paths.get(file + ".ll")), SchubsFormat.LZW));
+    }
+
+    @Test
+    public void testHuffmanFile() throws IOException {
+        byte[] text = SchubsOutputStreamTest.text(3000);
+        Path file = dir.resolve("Huffman.txt");
+        Files.write(file, text);
+        SchubsH sh = new SchubsH();
+        sh.setBlockSize(1024);
+        sh.compress(file.toString());
+
+        assertArrayEquals(text, decompress(Files.readAllBytes(Paths.get(file + ".hh")), SchubsFormat.HUFFMAN));
+    }
+
+    @Test
+    public void testHuffmanContainer() throws IOException {
+        byte[] text = SchubsOutputStreamTest.text(60000);
+        Path file = dir.resolve("HuffmanContainer.txt");
+        Files.write(file, text);
+        SchubsH sh = new SchubsH();
+        sh.setThreads(4);
+        sh.compress(file.toString());
+
+        assertArrayEquals(text, decompress(Files.readAllBytes(Paths.get(file + ".hh")), SchubsFormat.HUFFMAN));
+    }
+
+    @Test
+    public void testRoundTripBinary() throws IOException {
+        byte[] data = new byte[100000];
+        new Random(375).nextBytes(data);
+
+        for (SchubsFormat format : SchubsFormat.values()) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (SchubsOutputStream out = new SchubsOutputStream(baos, format)) {
+                out.write(data);
+            }
+            assertArrayEquals(data, decompress(baos.toByteArray(), format));
+        }
+    }
+
+    @Test
+    public void testReadByte() throws IOException {
+        byte[] text = "Blee\nBlah\nBlue\n".repeat(20).getBytes();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (SchubsOutputStream out = new SchubsOutputStream(baos, SchubsFormat.HUFFMAN)) {
+            out.write(text);
+        }
+
+        try (SchubsInputStream in = new SchubsInputStream(new ByteArrayInputStream(baos.toByteArray()),
+                SchubsFormat.HUFFMAN)) {
+            for (byte b : text) {
+                assertEquals(b & 0xff, in.read());
+            }
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnsupportedVersion() throws IOException {
+        new SchubsInputStream(new ByteArrayInputStream(new byte[] { (byte) 0xFF, 9, 12, 0 }), SchubsFormat.LZW);
+    }
+
+    @Test(expected = IOException.class)
+    public void testContainerLengthMismatch() throws IOException {
+        ByteArrayOutputStream coded = new ByteArrayOutputStream();
+        try (SchubsOutputStream out = new SchubsOutputStream(coded, SchubsFormat.LZW)) {
+            out.write("abc".getBytes());
+        }
+
+        // The frame claims 5 bytes but its block decodes to 3
+        ByteArrayOutputStream container = new ByteArrayOutputStream();
+        try (Bout bout = new Bout(container)) {
+            bout.writeBits(SchubsL.getHEADER(), Byte.SIZE);
+            bout.writeBits(SchubsL.getPARALLEL_VERSION(), Byte.SIZE);
+            bout.write(5);
+            bout.write(coded.size());
+            bout.write(coded.toByteArray(), 0, coded.size());
+            bout.write(0);
+        }
+        decompress(container.toByteArray(), SchubsFormat.LZW);
+    }
+
+    @Test
+    public void testTruncatedLZW() throws IOException {
+        byte[] text = SchubsOutputStreamTest.text(3000);
+        SchubsL variable = new SchubsL();
+        variable.setMaxWidth(16);
+
+        for (SchubsL schubsL : new SchubsL[] { new SchubsL(), variable }) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (SchubsOutputStream out = new SchubsOutputStream(baos, schubsL)) {
+                out.write(text);
+            }
+
+            // Cut into the end codeword, then into the codewords before it
+            for (int cut = 1; cut <= 3; cut++) {
+                byte[] truncated = Arrays.copyOf(baos.toByteArray(), baos.size() - cut);
+                try {
+                    decompress(truncated, SchubsFormat.LZW);
+                    fail("Truncated stream read as complete");
+                } catch (EOFException e) {
+                    assertEquals("Truncated LZW stream", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMetrics() throws IOException {
+        byte[] text = SchubsOutputStreamTest.text(100);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (SchubsOutputStream out = new SchubsOutputStream(baos, SchubsFormat.LZW)) {
+            out.write(text);
+        }
+
+        MetricsSnapshot before = Deschubs.getMETRICS().snapshot();
+        decompress(baos.toByteArray(), SchubsFormat.LZW);
+        MetricsSnapshot after = Deschubs.getMETRICS().snapshot();
+
+        assertEquals(1, after.operations() - before.operations());
+        assertEquals(before.failures(), after.failures());
+        assertEquals(baos.size(), after.bytesIn() - before.bytesIn());
+        assertEquals(text.length, after.bytesOut() - before.bytesOut());
+    }
+
+    /**
+     * Read a compressed array through a decompressing stream in runs of varying
+     * length
+     */
+    static byte[] decompress(byte[] compressed, SchubsFormat format) throws IOException {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (SchubsInputStream in = new SchubsInputStream(new ByteArrayInputStream(compressed), format)) {
+            byte[] buf = new byte[1000];
+            for (int k = 1, n; (n = in.read(buf, 0, k)) != -1; k = k * 7 % buf.length + 1) {
+                decoded.write(buf, 0, n);
+            }
+        }
+        return decoded.toByteArray();
+    }
+}
\ No newline at end of file
@@ -26,6 +26,9 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import Monitoring.CodecMetrics;
+import Monitoring.MetricsSnapshot;
+
 public class SchubsLTest {
     private Path dir;
     private final PrintStream originalErr = System.err;
@@ -136,6 +139,173 @@ public class SchubsLTest {
         checkFileContents(uppercaseText, uppercase.getBytes());
     }
 
+    @Test
+    public void testLZWRepeatedCharacter() throws IOException {
+        // Each new codeword is the entry the decoder is about to add
+        String repeated = "a".repeat(1000);
+        Path repeatedText = dir.resolve("Repeated.txt");
+        Files.write(repeatedText, repeated.getBytes());
+
+        new SchubsL().compress(repeatedText.toString());
+        new Deschubs().deLZW(repeatedText + ".ll");
+        checkFileContents(repeatedText, repeated.getBytes());
+    }
+
+    @Test
+    public void testLZWLargeFile() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("line ").append(i).append(": the quick brown fox jumps over the lazy dog\n");
+        }
+        byte[] large = sb.toString().getBytes();
+        Path largeText = dir.resolve("Large.txt");
+        Files.write(largeText, large);
+
+        new SchubsL().compress(largeText.toString());
+        assertTrue(Files.size(Paths.get(largeText + ".ll")) < large.length);
+
+        new Deschubs().deLZW(largeText + ".ll");
+        checkFileContents(largeText, large);
+    }
+
+    @Test
+    public void testLZWParallel() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append("line ").append(i).append(": the quick brown fox jumps over the lazy dog\n");
+        }
+        byte[] large = sb.toString().getBytes();
+        Path parallelText = dir.resolve("Parallel.txt");
+        Files.write(parallelText, large);
+
+        SchubsL sl = new SchubsL();
+        sl.setThreads(4);
+        sl.compress(parallelText.toString());
+
+        byte[] ll = Files.readAllBytes(Paths.get(parallelText + ".ll"));
+        assertEquals((byte) 0xFF, ll[0]);
+        assertEquals(2, ll[1]);
+
+        Deschubs deschubs = new Deschubs();
+        deschubs.setThreads(4);
+        deschubs.deLZW(parallelText + ".ll");
+        checkFileContents(parallelText, large);
+
+        new Deschubs().deLZW(parallelText + ".ll");
+        checkFileContents(parallelText, large);
+    }
+
+    @Test
+    public void testLZWThreadsOption() throws IOException {
+        String text = "Blee\nBlah\nBlue";
+        Path threadsText = dir.resolve("Threads.txt");
+        Files.write(threadsText, text.getBytes());
+        Files.deleteIfExists(Paths.get(threadsText + ".ll"));
+
+        SchubsL.main(new String[] { "--threads", "2", threadsText.toString() });
+        Files.delete(threadsText);
+        Deschubs.main(new String[] { "--threads", "2", threadsText + ".ll" });
+
+        assertEquals(0, newErr.size());
+        checkFileContents(threadsText, text.getBytes());
+    }
+
+    @Test
+    public void testLZWVariableWidth() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("line ").append(i).append(": the quick brown fox jumps over the lazy dog\n");
+        }
+        byte[] large = sb.toString().getBytes();
+        Path fixedText = dir.resolve("Fixed.txt");
+        Path variableText = dir.resolve("Variable.txt");
+        Files.write(fixedText, large);
+        Files.write(variableText, large);
+
+        new SchubsL().compress(fixedText.toString());
+        SchubsL sl = new SchubsL();
+        sl.setMaxWidth(16);
+        sl.compress(variableText.toString());
+
+        byte[] ll = Files.readAllBytes(Paths.get(variableText + ".ll"));
+        assertEquals((byte) 0xFF, ll[0]);
+        assertEquals(4, ll[1]);
+        assertEquals(16, ll[2]);
+        assertTrue(ll.length < Files.size(Paths.get(fixedText + ".ll")));
+
+        new Deschubs().deLZW(variableText + ".ll");
+        checkFileContents(variableText, large);
+    }
+
+    @Test
+    public void testLZWMetrics() throws IOException {
+        byte[] text = "the quick brown fox jumps over the lazy dog".repeat(100).getBytes();
+        Path metricsText = dir.resolve("Metrics.txt");
+        Files.write(metricsText, text);
+
+        MetricsSnapshot before = CodecMetrics.of("SchubsL").snapshot();
+        new SchubsL().compress(metricsText.toString());
+        MetricsSnapshot after = CodecMetrics.of("SchubsL").snapshot();
+
+        assertEquals(1, after.operations() - before.operations());
+        assertEquals(before.failures(), after.failures());
+        assertEquals(text.length, after.bytesIn() - before.bytesIn());
+        assertEquals(Files.size(Paths.get(metricsText + ".ll")), after.bytesOut() - before.bytesOut());
+        // Each 12-bit codeword, including the end codeword
+        assertEquals(Files.size(Paths.get(metricsText + ".ll")),
+                ((after.codes() - before.codes()) * 12 + 7) / 8);
+        assertEquals(4096 - 257, after.dictionaryCapacity());
+        assertTrue(after.dictionarySize() > 0);
+    }
+
+    @Test
+    public void testLZWVariableWidthParallel() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append("line ").append(i).append(": the quick brown fox jumps over the lazy dog\n");
+        }
+        byte[] large = sb.toString().getBytes();
+        Path parallelText = dir.resolve("VariableParallel.txt");
+        Files.write(parallelText, large);
+
+        SchubsL sl = new SchubsL();
+        sl.setThreads(4);
+        sl.setMaxWidth(14);
+        sl.compress(parallelText.toString());
+
+        Deschubs deschubs = new Deschubs();
+        deschubs.setThreads(4);
+        deschubs.deLZW(parallelText + ".ll");
+        checkFileContents(parallelText, large);
+    }
+
+    @Test
+    public void testLZWMaxWidthOption() throws IOException {
+        String text = "Blee\nBlah\nBlue";
+        Path widthText = dir.resolve("Width.txt");
+        Files.write(widthText, text.getBytes());
+        Files.deleteIfExists(Paths.get(widthText + ".ll"));
+
+        SchubsL.main(new String[] { "--max-width", "10", "--threads", "2", widthText.toString() });
+        Files.delete(widthText);
+        Deschubs.main(new String[] { widthText + ".ll" });
+
+        assertEquals(0, newErr.size());
+        checkFileContents(widthText, text.getBytes());
+    }
+
+    @Test
+    public void testLZWInvalidMaxWidth() {
+        SchubsL.main(new String[] { "--max-width", "21", "Blee.txt" });
+        assertHasErrorMessage();
+    }
+
+    @Test
+    public void testLZWInvalidThreads() {
+        SchubsL.main(new String[] { "--threads", "0", "Blee.txt" });
+        assertHasErrorMessage();
+    }
+
     @Test
     public void testLZWWrongNumArgs() {
         SchubsL.main(new String[] {});
@@ -0,0 +1,187 @@
+/*
+ * Program     : SchubsOutputStreamTest
+ * Description : Test output stream that compresses the bytes written to it
+ * Author      : Matthias Schrock
+ * Date        : 10-18-2026
+ * Course      : CS375 Software Engineering II
+ * Compile     : mvn compile
+ * Execute     : mvn test
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Monitoring.MetricsSnapshot;
+
+public class SchubsOutputStreamTest {
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Paths.get("src", "test", "resource", "SchubsOutputStream");
+        Files.createDirectories(dir);
+    }
+
+    @Test
+    public void testLZWMatchesFile() throws IOException {
+        byte[] text = text(3000);
+        Path file = dir.resolve("Lzw.txt");
+        Files.write(file, text);
+        new SchubsL().compress(file.toString());
+
+        assertArrayEquals(Files.readAllBytes(Paths.get(file + ".ll")),
+                compress(os -> new SchubsOutputStream(os, SchubsFormat.LZW), text));
+    }
+
+    @Test
+    public void testLZWVariableWidthMatchesFile() throws IOException {
+        byte[] text = text(3000);
+        Path file = dir.resolve("LzwVariable.txt");
+        Files.write(file, text);
+        SchubsL sl = new SchubsL();
+        sl.setMaxWidth(14);
+        sl.compress(file.toString());
+
+        assertArrayEquals(Files.readAllBytes(Paths.get(file + ".ll")),
+                compress(os -> new SchubsOutputStream(os, sl), text));
+    }
+
+    @Test
+    public void testHuffmanMatchesFile() throws IOException {
+        byte[] text = text(3000);
+        Path file = dir.resolve("Huffman.txt");
+        Files.write(file, text);
+        SchubsH sh = new SchubsH();
+        sh.setBlockSize(1024);
+        sh.compress(file.toString());
+
+        assertArrayEquals(Files.readAllBytes(Paths.get(file + ".hh")),
+                compress(os -> new SchubsOutputStream(os, sh), text));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        Path file = dir.resolve("Empty.txt");
+        Files.write(file, new byte[0]);
+        new SchubsL().compress(file.toString());
+        new SchubsH().compress(file.toString());
+
+        assertArrayEquals(Files.readAllBytes(Paths.get(file + ".ll")),
+                compress(os -> new SchubsOutputStream(os, SchubsFormat.LZW), new byte[0]));
+        assertArrayEquals(Files.readAllBytes(Paths.get(file + ".hh")),
+                compress(os -> new SchubsOutputStream(os, SchubsFormat.HUFFMAN), new byte[0]));
+    }
+
+    @Test
+    public void testFlush() throws IOException {
+        byte[] text = text(1000);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (SchubsOutputStream out = new SchubsOutputStream(baos, SchubsFormat.LZW)) {
+            out.write(text, 0, 500);
+            out.flush();
+            assertTrue(baos.size() > 0);
+            out.write(text, 500, text.length - 500);
+        }
+
+        // Flushing does not pad the codewords written so far
+        assertArrayEquals(compress(os -> new SchubsOutputStream(os, SchubsFormat.LZW), text),
+                baos.toByteArray());
+    }
+
+    @Test
+    public void testFinish() throws IOException {
+        byte[] text = text(100);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SchubsOutputStream out = new SchubsOutputStream(baos, SchubsFormat.HUFFMAN);
+        out.write(text);
+        out.finish();
+        int size = baos.size();
+        out.close();
+
+        assertEquals(size, baos.size());
+        assertArrayEquals(text, SchubsInputStreamTest.decompress(baos.toByteArray(), SchubsFormat.HUFFMAN));
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterFinish() throws IOException {
+        try (SchubsOutputStream out = new SchubsOutputStream(new ByteArrayOutputStream(), SchubsFormat.LZW)) {
+            out.finish();
+            out.write('a');
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteOutOfRange() throws IOException {
+        try (SchubsOutputStream out = new SchubsOutputStream(new ByteArrayOutputStream(), SchubsFormat.HUFFMAN)) {
+            out.write(new byte[4], 3, 2);
+        }
+    }
+
+    @Test
+    public void testNullFormat() throws IOException {
+        try {
+            new SchubsOutputStream(new ByteArrayOutputStream(), (SchubsFormat) null);
+            fail("Null format accepted");
+        } catch (NullPointerException e) {
+            assertEquals("format", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMetrics() throws IOException {
+        byte[] text = text(100);
+        MetricsSnapshot before = SchubsL.getMETRICS().snapshot();
+        byte[] compressed = compress(os -> new SchubsOutputStream(os, SchubsFormat.LZW), text);
+        MetricsSnapshot after = SchubsL.getMETRICS().snapshot();
+
+        assertEquals(1, after.operations() - before.operations());
+        assertEquals(before.failures(), after.failures());
+        assertEquals(text.length, after.bytesIn() - before.bytesIn());
+        assertEquals(compressed.length, after.bytesOut() - before.bytesOut());
+    }
+
+    /**
+     * Open a compressing stream
+     */
+    private interface Opener {
+        SchubsOutputStream open(OutputStream os) throws IOException;
+    }
+
+    /**
+     * Write bytes through a compressing stream one at a time and in runs of
+     * varying length
+     */
+    private static byte[] compress(Opener opener, byte[] data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (SchubsOutputStream compressing = opener.open(baos)) {
+            for (int i = 0, k = 1; i < data.length; i += k, k = k * 7 % 1000 + 1) {
+                if (k == 1) {
+                    compressing.write(data[i]);
+                } else {
+                    compressing.write(data, i, Math.min(k, data.length - i));
+                }
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    static byte[] text(int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("line ").append(i).append(": the quick brown fox jumps over the lazy dog\n");
+        }
+        return sb.toString().getBytes();
+    }
+}
\ No newline at end of file